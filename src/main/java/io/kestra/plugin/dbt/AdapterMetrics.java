@@ -0,0 +1,124 @@
+package io.kestra.plugin.dbt;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.dbt.models.AdapterResponse;
+import io.kestra.plugin.dbt.models.ManifestIndex;
+import io.kestra.plugin.dbt.models.RunResult;
+
+/**
+ * In-memory aggregation of the {@code adapter_response} metrics of the dbt nodes.
+ * <p>
+ * Instead of one counter per node, the sum, max and 95th percentile of {@code rows_affected},
+ * {@code bytes_processed}, {@code bytes_billed} and {@code slot_ms} are emitted once per resource type
+ * ({@code model}, {@code seed}, ...) and once per model tag, keeping the number of metrics of an execution
+ * independent of the size of the dbt project.
+ */
+public final class AdapterMetrics {
+    private static final String[] METRICS = {"rows.affected", "bytes.processed", "bytes.billed", "slot.ms"};
+
+    private final Map<String, Group> resourceTypes = new HashMap<>();
+    private final Map<String, Group> tags = new HashMap<>();
+
+    synchronized void record(RunResult.Result result, ManifestIndex manifest) {
+        AdapterResponse response = result.getAdapterResponse();
+        if (response == null || result.getUniqueId() == null) {
+            return;
+        }
+
+        if (!response.hasRowsAffected() && !response.hasBytesProcessed() && !response.hasBytesBilled() && !response.hasSlotMs()) {
+            return;
+        }
+
+        resourceTypes.computeIfAbsent(resourceType(result.getUniqueId()), key -> new Group()).add(response);
+
+        int index = manifest == null ? -1 : manifest.indexOf(result.getUniqueId());
+        if (index >= 0) {
+            for (String tag : manifest.tags(index)) {
+                tags.computeIfAbsent(tag, key -> new Group()).add(response);
+            }
+        }
+    }
+
+    /**
+     * Emit the aggregated metrics, to be called once every node has been recorded.
+     */
+    public synchronized void emit(RunContext runContext) {
+        resourceTypes.forEach((resourceType, group) -> group.emit(runContext, "resource_type", resourceType));
+        tags.forEach((tag, group) -> group.emit(runContext, "tag", tag));
+    }
+
+    private static String resourceType(String uniqueId) {
+        int dot = uniqueId.indexOf('.');
+        return dot > 0 ? uniqueId.substring(0, dot) : "unknown";
+    }
+
+    /**
+     * One accumulator per entry of {@link #METRICS}.
+     */
+    private static final class Group {
+        private final Accumulator[] accumulators = new Accumulator[METRICS.length];
+
+        private Group() {
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i] = new Accumulator();
+            }
+        }
+
+        private void add(AdapterResponse response) {
+            if (response.hasRowsAffected()) {
+                accumulators[0].add(response.getRowsAffected());
+            }
+            if (response.hasBytesProcessed()) {
+                accumulators[1].add(response.getBytesProcessed());
+            }
+            if (response.hasBytesBilled()) {
+                accumulators[2].add(response.getBytesBilled());
+            }
+            if (response.hasSlotMs()) {
+                accumulators[3].add(response.getSlotMs());
+            }
+        }
+
+        private void emit(RunContext runContext, String tagKey, String tagValue) {
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i].emit(runContext, METRICS[i], tagKey, tagValue);
+            }
+        }
+    }
+
+    private static final class Accumulator {
+        private double sum;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double[] values = new double[16];
+        private int count;
+
+        private void add(double value) {
+            sum += value;
+            max = Math.max(max, value);
+
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        private void emit(RunContext runContext, String name, String tagKey, String tagValue) {
+            if (count == 0) {
+                return;
+            }
+
+            double[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            double p95 = sorted[Math.max(0, (int) Math.ceil(count * 0.95) - 1)];
+
+            RunContextEmissions.metric(runContext, Counter.of(name, sum, tagKey, tagValue));
+            RunContextEmissions.metric(runContext, Counter.of(name + ".max", max, tagKey, tagValue));
+            RunContextEmissions.metric(runContext, Counter.of(name + ".p95", p95, tagKey, tagValue));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.kestra.plugin.dbt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.kestra.core.runners.DynamicTaskRunLog;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.WorkerTaskResult;
+
+/**
+ * Registers the dynamic taskruns of the dbt nodes with the run context.
+ * <p>
+ * Unbatched, each taskrun is registered on its own together with its log lines. Batched, taskruns are registered by
+ * chunks bounded by a size and by the delay since the first one was buffered; the run context can only attach log
+ * lines to a single taskrun, so the log lines of the nodes are then written to the logs of the task instead. A timer
+ * flushes a batch once its delay is over, so that a batch is not held until the next node finishes, which can be
+ * the whole run of a long model; its thread registers them through {@link RunContextEmissions} like the others.
+ */
+final class DynamicTaskRunEmitter implements AutoCloseable {
+    private final RunContext runContext;
+    private final int batchSize;
+    private final long batchDelayNanos;
+    private final List<WorkerTaskResult> batch;
+    private final ScheduledExecutorService timer;
+    private ScheduledFuture<?> scheduledFlush;
+    private long batchStart;
+
+    DynamicTaskRunEmitter(RunContext runContext, Integer batchSize, Duration batchDelay) {
+        this.runContext = runContext;
+        this.batchSize = batchSize == null ? 1 : Math.max(1, batchSize);
+        this.batchDelayNanos = batchDelay == null ? Long.MAX_VALUE : batchDelay.toNanos();
+        this.batch = new ArrayList<>(Math.min(this.batchSize, 1024));
+        this.timer = this.batchSize > 1 && batchDelay != null ?
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("dbt-taskruns-flush").factory()) :
+            null;
+    }
+
+    synchronized void emit(WorkerTaskResult workerTaskResult, List<DynamicTaskRunLog> logs) {
+        if (batchSize == 1) {
+            RunContextEmissions.dynamicWorkerResult(runContext, workerTaskResult, logs);
+            return;
+        }
+
+        for (DynamicTaskRunLog log : logs) {
+            runContext.logger().atLevel(log.level()).log(log.message());
+        }
+
+        if (batch.isEmpty()) {
+            batchStart = System.nanoTime();
+            if (timer != null) {
+                scheduledFlush = timer.schedule(this::scheduledFlush, batchDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        batch.add(workerTaskResult);
+
+        if (batch.size() >= batchSize || System.nanoTime() - batchStart >= batchDelayNanos) {
+            flush();
+        }
+    }
+
+    synchronized void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        RunContextEmissions.dynamicWorkerResult(runContext, new ArrayList<>(batch));
+        batch.clear();
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            runContext.logger().warn("Unable to register a batch of dbt node taskruns", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+}
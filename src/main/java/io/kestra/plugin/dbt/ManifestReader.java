@@ -0,0 +1,258 @@
+package io.kestra.plugin.dbt;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.kestra.plugin.dbt.models.ManifestIndex;
+
+/**
+ * Token-streaming reader for dbt's {@code manifest.json}.
+ * <p>
+ * Only what the asset extraction and the metrics need is projected into a {@link ManifestIndex}: the adapter type,
+ * the model entries of {@code nodes} with their tags, and their {@code parent_map} edges. Every other section ({@code macros}, {@code docs},
+ * {@code sources}, ...) and every unused node field (compiled SQL, columns, config, ...) is skipped token by token,
+ * so the memory used is bounded by the number of models rather than by the size of the file.
+ */
+abstract class ManifestReader {
+    private static final String RESOURCE_TYPE_MODEL = "model";
+
+    static ManifestIndex read(File file) throws IOException {
+        try (JsonParser parser = ResultParser.MAPPER.createParser(file)) {
+            return read(parser);
+        }
+    }
+
+    static ManifestIndex read(byte[] content) throws IOException {
+        try (JsonParser parser = ResultParser.MAPPER.createParser(content)) {
+            return read(parser);
+        }
+    }
+
+    static ManifestIndex read(InputStream content) throws IOException {
+        try (JsonParser parser = ResultParser.MAPPER.createParser(content)) {
+            return read(parser);
+        }
+    }
+
+    static ManifestIndex read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Invalid dbt manifest, expected a JSON object but got " + parser.currentToken());
+        }
+
+        ManifestIndex.Builder builder = ManifestIndex.builder();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case "metadata" -> readMetadata(parser, builder);
+                case "nodes" -> readNodes(parser, builder);
+                case "parent_map" -> readParentMap(parser, builder);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Build the index from a manifest already deserialized as a generic JSON map (e.g. to be stored in the
+     * KV store), so the file does not have to be parsed a second time.
+     */
+    static ManifestIndex read(Map<String, Object> manifest) {
+        ManifestIndex.Builder builder = ManifestIndex.builder();
+
+        if (manifest.get("metadata") instanceof Map<?, ?> metadata) {
+            builder.adapterType(string(metadata.get("adapter_type")));
+        }
+
+        if (manifest.get("nodes") instanceof Map<?, ?> nodes) {
+            nodes.forEach((key, value) -> {
+                if (value instanceof Map<?, ?> node && RESOURCE_TYPE_MODEL.equalsIgnoreCase(string(node.get("resource_type")))) {
+                    String uniqueId = string(node.get("unique_id"));
+                    builder.model(
+                        uniqueId != null && !uniqueId.isBlank() ? uniqueId : key.toString(),
+                        string(node.get("database")),
+                        string(node.get("schema")),
+                        string(node.get("name")),
+                        string(node.get("alias")),
+                        node.get("depends_on") instanceof Map<?, ?> dependsOn ? strings(dependsOn.get("nodes")) : null,
+                        strings(node.get("tags"))
+                    );
+                }
+            });
+        }
+
+        if (manifest.get("parent_map") instanceof Map<?, ?> parentMap) {
+            parentMap.forEach((key, value) -> builder.parents(key.toString(), strings(value)));
+        }
+
+        return builder.build();
+    }
+
+    private static void readMetadata(JsonParser parser, ManifestIndex.Builder builder) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if ("adapter_type".equals(field)) {
+                builder.adapterType(text(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readNodes(JsonParser parser, ManifestIndex.Builder builder) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            readNode(parser, key, builder);
+        }
+    }
+
+    private static void readNode(JsonParser parser, String key, ManifestIndex.Builder builder) throws IOException {
+        String database = null;
+        String schema = null;
+        String name = null;
+        String alias = null;
+        String uniqueId = null;
+        String resourceType = null;
+        List<String> dependsOn = null;
+        List<String> tags = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "database" -> database = text(parser);
+                case "schema" -> schema = text(parser);
+                case "name" -> name = text(parser);
+                case "alias" -> alias = text(parser);
+                case "unique_id" -> uniqueId = text(parser);
+                case "resource_type" -> resourceType = text(parser);
+                case "depends_on" -> dependsOn = readDependsOn(parser);
+                case "tags" -> tags = readStrings(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (RESOURCE_TYPE_MODEL.equalsIgnoreCase(resourceType)) {
+            builder.model(uniqueId != null && !uniqueId.isBlank() ? uniqueId : key, database, schema, name, alias, dependsOn, tags);
+        }
+    }
+
+    private static List<String> readDependsOn(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        List<String> dependsOn = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if ("nodes".equals(field)) {
+                dependsOn = readStrings(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return dependsOn;
+    }
+
+    private static void readParentMap(JsonParser parser, ManifestIndex.Builder builder) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            parser.nextToken();
+
+            // nodes already read (dbt writes them first): only keep the edges of models
+            if (builder.hasModels() && !builder.contains(key)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            builder.parents(key, readStrings(parser));
+        }
+    }
+
+    private static List<String> readStrings(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+
+        List<String> values = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.VALUE_STRING) {
+                values.add(parser.getText());
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return values;
+    }
+
+    private static String string(Object value) {
+        return value instanceof String string ? string : null;
+    }
+
+    private static List<String> strings(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+
+        List<String> values = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (item instanceof String string) {
+                values.add(string);
+            }
+        }
+        return values;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+package io.kestra.plugin.dbt;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.event.Level;
+
+import io.kestra.core.runners.DynamicTaskRunLog;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Holds the dbt log lines of each node until its dynamic taskrun is emitted, so that they are written to the logs of
+ * the node taskrun instead of the logs of the task.
+ * <p>
+ * A node taskrun can only get its log lines when it is registered, so the lines logged after that, or beyond
+ * {@link #MAX_LINES} held lines, are left to the task logs. {@link #close()} writes the lines of the nodes that were
+ * never emitted to the task logs.
+ */
+public final class NodeLogs implements AutoCloseable {
+    static final int MAX_LINES = 100_000;
+
+    private final RunContext runContext;
+    private final Map<String, List<DynamicTaskRunLog>> lines = new LinkedHashMap<>();
+    private final Set<String> drained = new HashSet<>();
+    private int size;
+    private boolean closed;
+
+    public NodeLogs(RunContext runContext) {
+        this.runContext = runContext;
+    }
+
+    /**
+     * @return false if the line was not held and must be logged on the task
+     */
+    public synchronized boolean add(String uniqueId, Level level, String message) {
+        if (closed || uniqueId == null || size >= MAX_LINES || drained.contains(uniqueId)) {
+            return false;
+        }
+
+        lines.computeIfAbsent(uniqueId, key -> new ArrayList<>()).add(new DynamicTaskRunLog(level, message));
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the lines held for the node, the next ones being left to the task logs
+     */
+    synchronized List<DynamicTaskRunLog> drain(String uniqueId) {
+        drained.add(uniqueId);
+
+        List<DynamicTaskRunLog> held = lines.remove(uniqueId);
+        if (held == null) {
+            return List.of();
+        }
+
+        size -= held.size();
+        return held;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        lines.values().forEach(held -> held.forEach(log -> runContext.logger().atLevel(log.level()).log(log.message())));
+        lines.clear();
+    }
+}
@@ -0,0 +1,91 @@
+package io.kestra.plugin.dbt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static io.kestra.core.utils.Rethrow.throwSupplier;
+
+/**
+ * Runs the I/O bound steps of the tasks concurrently, on virtual threads.
+ */
+public final class ParallelTasks {
+    private ParallelTasks() {
+    }
+
+    /**
+     * Run {@code count} tasks on virtual threads, at most {@code parallelism} at a time, and wait for all of them.
+     *
+     * @return the result of each task, in order
+     * @throws Exception the first error, see {@link #awaitAll(List)}
+     */
+    public static <T> List<T> map(int count, int parallelism, IndexedTask<T> task) throws Exception {
+        Semaphore permits = new Semaphore(Math.max(1, parallelism));
+        List<CompletableFuture<T>> futures = new ArrayList<>(count);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(CompletableFuture.supplyAsync(throwSupplier(() -> {
+                    permits.acquire();
+                    try {
+                        return task.run(index);
+                    } finally {
+                        permits.release();
+                    }
+                }), executor));
+            }
+
+            awaitAll(futures);
+        }
+
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Wait for all the steps, failing with the first error and any other one added as suppressed. A step depending
+     * on a failed one fails with the same error, which is only reported once.
+     */
+    public static void awaitAll(List<? extends CompletableFuture<?>> steps) throws Exception {
+        Throwable failure = null;
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (CompletableFuture<?> step : steps) {
+            try {
+                step.join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (!seen.add(cause)) {
+                    continue;
+                }
+
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure instanceof Exception exception) {
+            throw exception;
+        } else if (failure instanceof Error error) {
+            throw error;
+        } else if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    @FunctionalInterface
+    public interface IndexedTask<T> {
+        T run(int index) throws Exception;
+    }
+}
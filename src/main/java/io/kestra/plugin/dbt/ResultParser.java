@@ -2,11 +2,20 @@ package io.kestra.plugin.dbt;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
@@ -17,6 +26,7 @@ import io.kestra.core.models.assets.Custom;
 import io.kestra.core.models.executions.TaskRun;
 import io.kestra.core.models.executions.TaskRunAttempt;
 import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.flows.State;
 import io.kestra.core.queues.QueueException;
 import io.kestra.core.runners.AssetEmit;
@@ -25,319 +35,479 @@ import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.WorkerTaskResult;
 import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.utils.IdUtils;
-import io.kestra.plugin.dbt.models.Manifest;
+import io.kestra.plugin.dbt.models.AdapterResponse;
+import io.kestra.plugin.dbt.models.ManifestIndex;
 import io.kestra.plugin.dbt.models.RunResult;
 
+import lombok.Builder;
 import org.slf4j.event.Level;
 
-import static io.kestra.core.utils.Rethrow.throwConsumer;
-
 public abstract class ResultParser {
     static final protected ObjectMapper MAPPER = JacksonMapper.ofJson(false)
         .setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
     private static final String TABLE_ASSET_TYPE = "io.kestra.plugin.ee.assets.Table";
-    private static final String RESOURCE_TYPE_MODEL = "model";
 
-    public record ManifestResult(Manifest manifest, URI uri) {
+    public record ManifestResult(ManifestIndex manifest, URI uri) {
     }
 
     public static ManifestResult parseManifestWithAssets(RunContext runContext, File file) throws IOException, IllegalVariableEvaluationException {
-        Manifest manifest = MAPPER.readValue(file, Manifest.class);
+        ManifestIndex manifest = parseManifest(file);
         emitAssets(runContext, manifest);
         return new ManifestResult(manifest, runContext.storage().putFile(file));
     }
 
-    public static URI parseRunResult(RunContext runContext, File file, Manifest manifest) throws IOException, IllegalVariableEvaluationException {
-        RunResult result = MAPPER.readValue(
-            file,
-            RunResult.class
-        );
+    public static ManifestIndex parseManifest(File file) throws IOException {
+        return ManifestReader.read(file);
+    }
+
+    /**
+     * Same as {@link #parseManifest(File)} for a manifest that was already deserialized, e.g. to be stored in the
+     * KV store: the index is built from it instead of parsing the file again.
+     */
+    public static ManifestIndex parseManifest(Map<String, Object> content) {
+        return ManifestReader.read(content);
+    }
+
+    /**
+     * Same as {@link #parseManifest(File)} for the content of the manifest already read in memory.
+     */
+    public static ManifestIndex parseManifest(byte[] content) throws IOException {
+        return ManifestReader.read(content);
+    }
+
+    /**
+     * Same as {@link #parseManifest(File)} for a manifest read from a stream, e.g. while it is copied elsewhere.
+     */
+    public static ManifestIndex parseManifest(InputStream content) throws IOException {
+        return ManifestReader.read(content);
+    }
+
+    public static URI parseRunResult(RunContext runContext, File file, ManifestIndex manifest) throws IOException, IllegalVariableEvaluationException {
+        emitRunResult(runContext, file, manifest);
+        return runContext.storage().putFile(file);
+    }
 
-        Map<String, ModelAsset> modelAssets = manifest == null ? Map.of() : extractModelAssets(manifest);
+    /**
+     * Same as {@link #parseRunResult(RunContext, File, ManifestIndex)} without uploading the file to the internal
+     * storage, so the upload can be done concurrently.
+     */
+    public static void emitRunResult(RunContext runContext, File file, ManifestIndex manifest) throws IOException, IllegalVariableEvaluationException {
+        emitRunResult(runContext, file, manifest, EmitOptions.builder().build());
+    }
+
+    /**
+     * Same as {@link #emitRunResult(RunContext, File, ManifestIndex)}, the dynamic taskruns being emitted as set by
+     * the {@code options}.
+     */
+    public static void emitRunResult(RunContext runContext, File file, ManifestIndex manifest, EmitOptions options) throws IOException, IllegalVariableEvaluationException {
+        ModelAssets modelAssets = new ModelAssets(manifest == null ? ManifestIndex.empty() : manifest);
+        ParentTaskRun parent = ParentTaskRun.of(runContext);
 
         // Emit one dynamic taskrun per dbt model (the UI timeline "bars"), attaching that model's
         // own status/message/failures as logs riding with its taskrun so they render inline under
         // its bar instead of all landing on the parent task root (issue #276).
-        result
-            .getResults()
-            .stream()
-            .forEach(throwConsumer(r ->
-            {
-                ArrayList<State.History> histories = new ArrayList<>();
-
-                // List of status are not safe and can be not present on api calls
-                r.getTiming()
-                    .stream()
-                    .mapToLong(timing -> timing.getStartedAt().toEpochMilli())
-                    .min()
-                    .ifPresent(value ->
-                    {
-                        histories.add(
-                            new State.History(
-                                State.Type.CREATED,
-                                Instant.ofEpochMilli(value)
-                            )
-                        );
-                    });
-
-                r.getTiming()
-                    .stream()
-                    .filter(timing -> timing.getName().equals("execute"))
-                    .mapToLong(timing -> timing.getStartedAt().toEpochMilli())
-                    .min()
-                    .ifPresent(value ->
-                    {
-                        histories.add(
-                            new State.History(
-                                State.Type.RUNNING,
-                                Instant.ofEpochMilli(value)
-                            )
-                        );
-                    });
-
-                r.getTiming()
-                    .stream()
-                    .mapToLong(timing -> timing.getCompletedAt().toEpochMilli())
-                    .max()
-                    .ifPresent(value ->
-                    {
-                        histories.add(
-                            new State.History(
-                                r.state(),
-                                Instant.ofEpochMilli(value)
-                            )
-                        );
-                    });
-
-                State state = State.of(
-                    r.state(),
-                    histories
-                );
-
-                r.getAdapterResponse()
-                    .entrySet()
-                    .stream()
-                    .map(e ->
-                    {
-                        return switch (e.getKey()) {
-                            case "rows_affected" -> Counter.of("rows.affected", Double.valueOf(e.getValue()));
-                            case "bytes_processed" -> Counter.of("bytes.processed", Double.valueOf(e.getValue()));
-                            default -> null;
-                        };
-                    })
-                    .filter(Objects::nonNull)
-                    .forEach(runContext::metric);
-
-                AssetsInOut assets = assetsFor(r.getUniqueId(), modelAssets);
-                TaskRun.TaskRunBuilder taskRunBuilder = TaskRun.builder()
-                    .id(IdUtils.create())
-                    .namespace(runContext.render("{{ flow.namespace }}"))
-                    .flowId(runContext.render("{{ flow.id }}"))
-                    .taskId(r.getUniqueId())
-                    .executionId(runContext.render("{{ execution.id }}"))
-                    .parentTaskRunId(runContext.render("{{ taskrun.id }}"))
-                    .state(state)
-                    .attempts(
-                        List.of(
-                            TaskRunAttempt.builder()
-                                .state(state)
-                                .build()
-                        )
-                    );
-                if (assets != null) {
-                    taskRunBuilder.assets(assets);
-                }
+        // The file is streamed: only one element of `results` is deserialized at a time, `args`
+        // and the other top-level fields are skipped.
+        try (
+            JsonParser parser = MAPPER.createParser(file);
+            DynamicTaskRunEmitter emitter = new DynamicTaskRunEmitter(runContext, options.batchSize(), options.batchDelay())
+        ) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Invalid dbt run results, expected a JSON object but got " + parser.currentToken());
+            }
 
-                // Register the dynamic taskrun together with its log lines in one call: the run
-                // context builds the LogEntry, forcing execution/tenant/namespace/flow from itself,
-                // fixing the attempt to 0 and masking secrets (the plugin never builds a LogEntry).
-                runContext.dynamicWorkerResult(
-                    WorkerTaskResult.builder().taskRun(taskRunBuilder.build()).build(),
-                    modelLogs(r)
-                );
-            }));
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
 
-        return runContext.storage().putFile(file);
+                if (!"results".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    RunResult.Result r = MAPPER.readValue(parser, RunResult.Result.class);
+                    if (!isEmitted(options.emitted(), r.getUniqueId())) {
+                        emitResult(runContext, r, parent, modelAssets, emitter, options.adapterMetrics(), options.nodeLogs());
+                    }
+                }
+            }
+        }
     }
 
     /**
-     * Build the log lines for a single dbt model, to be attached to that model's dynamic taskrun.
-     * A concise summary line (`uniqueId => status`, execution time, and the failure count when any),
-     * followed by the model's own message when present (SQL/compile errors, dbt status messages).
-     * rows_affected / bytes_processed are intentionally left out — they are already emitted as metrics.
+     * How the dbt node taskruns are emitted, every option being optional.
+     *
+     * @param batchSize registers the taskruns by batches of at most this size, each waiting at most
+     * {@code batchDelay}; a null or 1 batch size registers them one by one, with their log lines attached
+     * @param emitted the nodes whose taskrun was already emitted, e.g. live by {@link LiveRunResults}, which are
+     * skipped; not used by {@link LiveRunResults} itself
+     * @param adapterMetrics when set, the adapter response of the nodes is recorded into it instead of being emitted as
+     * one counter per node
+     * @param nodeLogs when set, the log lines it holds for a node are attached to its taskrun before its summary
      */
-    static List<DynamicTaskRunLog> modelLogs(RunResult.Result r) {
-        Level level = switch (r.state()) {
-            case FAILED -> Level.ERROR;
-            case WARNING -> Level.WARN;
-            default -> Level.INFO;
-        };
+    @Builder(toBuilder = true)
+    public record EmitOptions(Integer batchSize, Duration batchDelay, Set<String> emitted, AdapterMetrics adapterMetrics, NodeLogs nodeLogs) {
+        public EmitOptions {
+            emitted = emitted == null ? Set.of() : emitted;
+        }
+    }
 
-        List<DynamicTaskRunLog> logs = new ArrayList<>();
+    // neither Set.of() nor a concurrent set accept a null lookup, and a node without id can't have been emitted
+    private static boolean isEmitted(Set<String> emitted, String uniqueId) {
+        return uniqueId != null && emitted.contains(uniqueId);
+    }
 
-        StringBuilder summary = new StringBuilder(r.getUniqueId() + " => " + r.getStatus());
-        if (r.getExecutionTime() != null) {
-            summary.append(String.format(Locale.ROOT, " in %.2fs", r.getExecutionTime()));
+    private static void emitResult(
+        RunContext runContext,
+        RunResult.Result r,
+        ParentTaskRun parent,
+        ModelAssets modelAssets,
+        DynamicTaskRunEmitter emitter,
+        AdapterMetrics adapterMetrics,
+        NodeLogs nodeLogs
+    ) throws IllegalVariableEvaluationException {
+        // List of status are not safe and can be not present on api calls
+        long createdAt = Long.MAX_VALUE;
+        long runningAt = Long.MAX_VALUE;
+        long completedAt = Long.MIN_VALUE;
+        long compileMillis = 0;
+        long executeMillis = 0;
+        boolean compiled = false;
+        boolean executed = false;
+
+        for (RunResult.Timing timing : r.getTiming()) {
+            if (timing.getStartedAt() == null || timing.getCompletedAt() == null) {
+                continue;
+            }
+
+            long startedAt = timing.getStartedAt().toEpochMilli();
+            long endedAt = timing.getCompletedAt().toEpochMilli();
+            createdAt = Math.min(createdAt, startedAt);
+            completedAt = Math.max(completedAt, endedAt);
+
+            if ("execute".equals(timing.getName())) {
+                runningAt = Math.min(runningAt, startedAt);
+                executeMillis += endedAt - startedAt;
+                executed = true;
+            } else if ("compile".equals(timing.getName())) {
+                compileMillis += endedAt - startedAt;
+                compiled = true;
+            }
         }
-        if (r.getFailures() != null && r.getFailures() > 0) {
-            summary.append(" (").append(r.getFailures()).append(r.getFailures() == 1 ? " failure)" : " failures)");
+
+        List<State.History> histories = new ArrayList<>(3);
+        if (createdAt != Long.MAX_VALUE) {
+            histories.add(new State.History(State.Type.CREATED, Instant.ofEpochMilli(createdAt)));
+        }
+        if (runningAt != Long.MAX_VALUE) {
+            histories.add(new State.History(State.Type.RUNNING, Instant.ofEpochMilli(runningAt)));
+        }
+        if (completedAt != Long.MIN_VALUE) {
+            histories.add(new State.History(r.state(), Instant.ofEpochMilli(completedAt)));
         }
-        logs.add(new DynamicTaskRunLog(level, summary.toString()));
 
-        if (r.getMessage() != null && !r.getMessage().isBlank()) {
-            logs.add(new DynamicTaskRunLog(level, r.getMessage()));
+        // one timer series per node, left out when the metrics are aggregated to keep their number low
+        if (adapterMetrics == null) {
+            if (compiled) {
+                RunContextEmissions.metric(runContext, Timer.of("node.compile.duration", Duration.ofMillis(compileMillis), "unique_id", r.getUniqueId()));
+            }
+            if (executed) {
+                RunContextEmissions.metric(runContext, Timer.of("node.execute.duration", Duration.ofMillis(executeMillis), "unique_id", r.getUniqueId()));
+            }
         }
 
-        return logs;
-    }
+        State state = State.of(
+            r.state(),
+            histories
+        );
 
-    private static AssetsInOut assetsFor(String uniqueId, Map<String, ModelAsset> modelAssets) {
-        if (uniqueId == null) {
-            return null;
+        AdapterResponse adapterResponse = r.getAdapterResponse();
+        if (adapterMetrics != null) {
+            adapterMetrics.record(r, modelAssets.manifest);
+        } else if (adapterResponse != null) {
+            if (adapterResponse.hasRowsAffected()) {
+                RunContextEmissions.metric(runContext, Counter.of("rows.affected", adapterResponse.getRowsAffected()));
+            }
+            if (adapterResponse.hasBytesProcessed()) {
+                RunContextEmissions.metric(runContext, Counter.of("bytes.processed", adapterResponse.getBytesProcessed()));
+            }
+            if (adapterResponse.hasBytesBilled()) {
+                RunContextEmissions.metric(runContext, Counter.of("bytes.billed", adapterResponse.getBytesBilled()));
+            }
+            if (adapterResponse.hasSlotMs()) {
+                RunContextEmissions.metric(runContext, Counter.of("slot.ms", adapterResponse.getSlotMs()));
+            }
         }
 
-        ModelAsset modelAsset = modelAssets.get(uniqueId);
-        if (modelAsset == null) {
-            return null;
+        AssetsInOut assets = modelAssets.assetsFor(r.getUniqueId());
+        TaskRun.TaskRunBuilder taskRunBuilder = TaskRun.builder()
+            .id(IdUtils.create())
+            .namespace(parent.namespace())
+            .flowId(parent.flowId())
+            .taskId(r.getUniqueId())
+            .executionId(parent.executionId())
+            .parentTaskRunId(parent.taskRunId())
+            .state(state)
+            .attempts(
+                List.of(
+                    TaskRunAttempt.builder()
+                        .state(state)
+                        .build()
+                )
+            );
+        if (assets != null) {
+            taskRunBuilder.assets(assets);
         }
 
-        List<AssetIdentifier> inputs = inputIdentifiers(modelAsset, modelAssets);
-        List<Asset> outputs = outputAssets(modelAsset, modelAssets);
+        // Register the dynamic taskrun together with its log lines in one call: the run
+        // context builds the LogEntry, forcing execution/tenant/namespace/flow from itself,
+        // fixing the attempt to 0 and masking secrets (the plugin never builds a LogEntry).
+        List<DynamicTaskRunLog> logs = modelLogs(r);
+        if (nodeLogs != null) {
+            List<DynamicTaskRunLog> lines = nodeLogs.drain(r.getUniqueId());
+            if (!lines.isEmpty()) {
+                List<DynamicTaskRunLog> all = new ArrayList<>(lines.size() + logs.size());
+                all.addAll(lines);
+                all.addAll(logs);
+                logs = all;
+            }
+        }
 
-        return new AssetsInOut(inputs, outputs);
+        emitter.emit(
+            WorkerTaskResult.builder().taskRun(taskRunBuilder.build()).build(),
+            logs
+        );
     }
 
-    private static void emitAssets(RunContext runContext, Manifest manifest) throws IllegalVariableEvaluationException {
-        Map<String, ModelAsset> modelAssets = extractModelAssets(manifest);
-        runContext.logger().info("dbt assets extracted from manifest: {}", modelAssets.size());
+    /**
+     * Emits the taskrun and metrics of each dbt node as soon as dbt reports it finished in its JSON logs, from its
+     * {@code NodeFinished} event, so long builds show their progress while dbt is still running.
+     * <p>
+     * The nodes are emitted in the order dbt reported them by a virtual thread, not by the thread reading the logs:
+     * the manifest, written by dbt before it runs the first node, is parsed there when the first node finishes, and
+     * is then handed over to the post-run through {@link #manifest()} so that it isn't parsed again. Like every other
+     * emission of the task, its taskruns and metrics go through {@link RunContextEmissions}.
+     * <p>
+     * The nodes emitted are then skipped when parsing {@code run_results.json}, which only has to catch up with the
+     * nodes that were not reported.
+     */
+    public static final class LiveRunResults implements AutoCloseable {
+        private final RunContext runContext;
+        private final File manifestFile;
+        private final ParentTaskRun parent;
+        private final DynamicTaskRunEmitter emitter;
+        private final AdapterMetrics adapterMetrics;
+        private final NodeLogs nodeLogs;
+        private final Set<String> emitted = ConcurrentHashMap.newKeySet();
+        private final ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("dbt-live-taskruns").factory());
+        private CompletableFuture<ManifestIndex> manifest;
+        private long manifestModified;
+        private ModelAssets modelAssets;
+        private boolean closed;
+
+        public LiveRunResults(RunContext runContext, File manifestFile, EmitOptions options) throws IllegalVariableEvaluationException {
+            this.runContext = runContext;
+            this.manifestFile = manifestFile;
+            this.adapterMetrics = options.adapterMetrics();
+            this.nodeLogs = options.nodeLogs();
+            this.parent = ParentTaskRun.of(runContext);
+            this.emitter = new DynamicTaskRunEmitter(runContext, options.batchSize(), options.batchDelay());
+        }
 
-        for (ModelAsset asset : modelAssets.values()) {
-            List<AssetIdentifier> inputs = inputIdentifiers(asset, modelAssets);
-            List<Asset> outputs = outputAssets(asset, modelAssets);
-            try {
-                runContext.assets().emit(new AssetEmit(inputs, outputs));
-            } catch (UnsupportedOperationException e) {
-                // OSS edition or tests where EE assets are not available — silently skip.
-                runContext.logger().debug("Asset emission is not supported in this edition, skipping.");
-                break;
-            } catch (QueueException e) {
-                runContext.logger().warn("Unable to emit dbt asset '{}'", asset.assetId(), e);
+        /**
+         * @param data the {@code data} of a {@code NodeFinished} event
+         */
+        public synchronized void nodeFinished(Map<?, ?> data) {
+            RunResult.Result result = nodeResult(data);
+            if (closed || result == null || !emitted.add(result.getUniqueId())) {
+                return;
+            }
+
+            if (manifest == null) {
+                manifestModified = manifestFile == null ? 0 : manifestFile.lastModified();
+                manifest = CompletableFuture.supplyAsync(this::readManifest, executor);
             }
+
+            executor.execute(() -> emit(result));
         }
-    }
 
-    private static List<Asset> outputAssets(ModelAsset modelAsset, Map<String, ModelAsset> modelAssets) {
-        if (modelAsset.children() == null || modelAsset.children().isEmpty()) {
-            return List.of();
+        /**
+         * @return the unique ids of the nodes already emitted
+         */
+        public Set<String> emitted() {
+            return emitted;
         }
 
-        return modelAsset.children().stream()
-            .map(modelAssets::get)
-            .filter(Objects::nonNull)
-            .<Asset> map(
-                child -> Custom.builder()
-                    .id(child.assetId())
-                    .type(TABLE_ASSET_TYPE)
-                    .metadata(child.metadata())
-                    .build()
-            )
-            .toList();
-    }
+        /**
+         * To be called once closed.
+         *
+         * @return the manifest parsed to emit the nodes, null if none was or if dbt wrote it again since, e.g. for a
+         * later command
+         */
+        public synchronized ManifestIndex manifest() {
+            if (manifest == null || manifestFile == null || manifestFile.lastModified() != manifestModified) {
+                return null;
+            }
 
-    private static List<AssetIdentifier> inputIdentifiers(ModelAsset modelAsset, Map<String, ModelAsset> modelAssets) {
-        if (modelAsset.dependsOn() == null || modelAsset.dependsOn().isEmpty()) {
-            return List.of();
+            return manifest.join();
         }
 
-        return modelAsset.dependsOn().stream()
-            .map(modelAssets::get)
-            .filter(Objects::nonNull)
-            .map(dep -> new AssetIdentifier(null, null, dep.assetId(), TABLE_ASSET_TYPE))
-            .toList();
-    }
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
 
-    private static Map<String, ModelAsset> extractModelAssets(Manifest manifest) {
-        if (manifest == null || manifest.getNodes() == null || manifest.getNodes().isEmpty()) {
-            return Map.of();
+            closed = true;
+            // waits for the nodes reported to be emitted
+            executor.close();
+            emitter.close();
         }
 
-        String system = adapterType(manifest);
-        Map<String, ModelAsset> modelAssets = new HashMap<>();
+        private void emit(RunResult.Result result) {
+            try {
+                if (modelAssets == null) {
+                    ManifestIndex index = manifest.join();
+                    modelAssets = new ModelAssets(index == null ? ManifestIndex.empty() : index);
+                }
 
-        for (Map.Entry<String, Manifest.Node> entry : manifest.getNodes().entrySet()) {
-            Manifest.Node node = entry.getValue();
-            if (node == null || !RESOURCE_TYPE_MODEL.equalsIgnoreCase(node.getResourceType())) {
-                continue;
+                emitResult(runContext, result, parent, modelAssets, emitter, adapterMetrics, nodeLogs);
+            } catch (Exception e) {
+                emitted.remove(result.getUniqueId());
+                runContext.logger().debug("Unable to emit the dbt node '{}' live, it will be from run_results.json", result.getUniqueId(), e);
             }
+        }
 
-            String uniqueId = firstNonBlank(node.getUniqueId(), entry.getKey());
-            if (uniqueId == null) {
-                continue;
+        private ManifestIndex readManifest() {
+            if (manifestFile == null || !manifestFile.exists()) {
+                return null;
             }
 
-            String name = firstNonBlank(node.getAlias(), node.getName(), uniqueId);
-            String assetId = assetIdFor(node.getDatabase(), node.getSchema(), name, uniqueId);
+            try {
+                return parseManifest(manifestFile);
+            } catch (IOException e) {
+                runContext.logger().debug("Unable to read the dbt manifest, nodes emitted live will have no assets", e);
+                return null;
+            }
+        }
 
-            Map<String, Object> metadata = new HashMap<>();
-            if (hasValue(system))
-                metadata.put("system", system);
-            if (hasValue(node.getDatabase()))
-                metadata.put("database", node.getDatabase());
-            if (hasValue(node.getSchema()))
-                metadata.put("schema", node.getSchema());
-            if (hasValue(name))
-                metadata.put("name", name);
+        private static RunResult.Result nodeResult(Map<?, ?> data) {
+            if (!(data.get("node_info") instanceof Map<?, ?> nodeInfo) || !(data.get("run_result") instanceof Map<?, ?> runResult)) {
+                return null;
+            }
 
-            // Use parent_map from manifest (the canonical DAG) when available,
-            // falling back to node-level depends_on for older manifests.
-            List<String> dependsOn;
-            if (manifest.getParentMap() != null && manifest.getParentMap().containsKey(uniqueId)) {
-                dependsOn = manifest.getParentMap().get(uniqueId);
-            } else if (node.getDependsOn() != null) {
-                dependsOn = node.getDependsOn().getOrDefault("nodes", List.of());
-            } else {
-                dependsOn = List.of();
+            if (nodeInfo.get("unique_id") == null || runResult.get("status") == null) {
+                return null;
             }
 
-            modelAssets.put(uniqueId, new ModelAsset(assetId, metadata, dependsOn, List.of()));
+            List<RunResult.Timing> timing = new ArrayList<>();
+            if (runResult.get("timing_info") instanceof List<?> timingInfo) {
+                for (Object item : timingInfo) {
+                    if (item instanceof Map<?, ?> phase) {
+                        timing.add(RunResult.Timing.builder()
+                            .name(string(phase.get("name")))
+                            .startedAt(instant(phase.get("started_at")))
+                            .completedAt(instant(phase.get("completed_at")))
+                            .build()
+                        );
+                    }
+                }
+            }
+
+            Double executionTime = runResult.get("execution_time") instanceof Number number ? number.doubleValue() : null;
+            Integer failures = runResult.get("num_failures") instanceof Number number ? number.intValue() : null;
+
+            return RunResult.Result.builder()
+                .uniqueId(nodeInfo.get("unique_id").toString())
+                .status(runResult.get("status").toString())
+                .message(string(runResult.get("message")))
+                .threadId(string(runResult.get("thread")))
+                .executionTime(executionTime)
+                .failures(failures)
+                .timing(timing)
+                .adapterResponse(runResult.get("adapter_response") instanceof Map<?, ?> response ? AdapterResponse.of(response) : null)
+                .build();
         }
 
-        Map<String, ModelAsset> filtered = new HashMap<>(modelAssets.size());
-        for (Map.Entry<String, ModelAsset> e : modelAssets.entrySet()) {
-            ModelAsset a = e.getValue();
-            List<String> deps = a.dependsOn() == null ? List.of()
-                : a.dependsOn().stream()
-                    .filter(modelAssets::containsKey)
-                    .toList();
-            filtered.put(e.getKey(), new ModelAsset(a.assetId(), a.metadata(), deps, List.of()));
+        private static String string(Object value) {
+            return value == null ? null : value.toString();
         }
 
-        // Compute reverse dependencies (children: models that depend on this one)
-        Map<String, List<String>> childrenMap = new HashMap<>();
-        for (Map.Entry<String, ModelAsset> e : filtered.entrySet()) {
-            for (String dep : e.getValue().dependsOn()) {
-                childrenMap.computeIfAbsent(dep, k -> new ArrayList<>()).add(e.getKey());
+        private static Instant instant(Object value) {
+            if (!(value instanceof String date) || date.isBlank()) {
+                return null;
+            }
+
+            try {
+                return Instant.parse(date);
+            } catch (DateTimeParseException e) {
+                return null;
             }
         }
+    }
+
+    /**
+     * Identifiers of the task run the dbt nodes taskruns are attached to, rendered once for all of them.
+     */
+    private record ParentTaskRun(String namespace, String flowId, String executionId, String taskRunId) {
+        private static ParentTaskRun of(RunContext runContext) throws IllegalVariableEvaluationException {
+            return new ParentTaskRun(
+                runContext.render("{{ flow.namespace }}"),
+                runContext.render("{{ flow.id }}"),
+                runContext.render("{{ execution.id }}"),
+                runContext.render("{{ taskrun.id }}")
+            );
+        }
+    }
+
+    /**
+     * Build the log lines for a single dbt model, to be attached to that model's dynamic taskrun.
+     * A concise summary line (`uniqueId => status`, execution time, and the failure count when any),
+     * followed by the model's own message when present (SQL/compile errors, dbt status messages).
+     * rows_affected / bytes_processed are intentionally left out — they are already emitted as metrics.
+     */
+    static List<DynamicTaskRunLog> modelLogs(RunResult.Result r) {
+        Level level = switch (r.state()) {
+            case FAILED -> Level.ERROR;
+            case WARNING -> Level.WARN;
+            default -> Level.INFO;
+        };
+
+        List<DynamicTaskRunLog> logs = new ArrayList<>();
+
+        StringBuilder summary = new StringBuilder(r.getUniqueId() + " => " + r.getStatus());
+        if (r.getExecutionTime() != null) {
+            summary.append(String.format(Locale.ROOT, " in %.2fs", r.getExecutionTime()));
+        }
+        if (r.getFailures() != null && r.getFailures() > 0) {
+            summary.append(" (").append(r.getFailures()).append(r.getFailures() == 1 ? " failure)" : " failures)");
+        }
+        logs.add(new DynamicTaskRunLog(level, summary.toString()));
 
-        // Rebuild with children populated
-        Map<String, ModelAsset> result = new HashMap<>(filtered.size());
-        for (Map.Entry<String, ModelAsset> e : filtered.entrySet()) {
-            ModelAsset a = e.getValue();
-            List<String> children = childrenMap.getOrDefault(e.getKey(), List.of());
-            result.put(e.getKey(), new ModelAsset(a.assetId(), a.metadata(), a.dependsOn(), children));
+        if (r.getMessage() != null && !r.getMessage().isBlank()) {
+            logs.add(new DynamicTaskRunLog(level, r.getMessage()));
         }
 
-        return result;
+        return logs;
     }
 
-    private static String adapterType(Manifest manifest) {
-        if (manifest.getMetadata() == null) {
-            return null;
+    public static void emitAssets(RunContext runContext, ManifestIndex manifest) throws IllegalVariableEvaluationException {
+        ModelAssets modelAssets = new ModelAssets(manifest);
+        runContext.logger().info("dbt assets extracted from manifest: {}", modelAssets.size());
+
+        for (int i = 0; i < modelAssets.size(); i++) {
+            try {
+                RunContextEmissions.asset(runContext, new AssetEmit(modelAssets.inputs(i), modelAssets.outputs(i)));
+            } catch (UnsupportedOperationException e) {
+                // OSS edition or tests where EE assets are not available — silently skip.
+                runContext.logger().debug("Asset emission is not supported in this edition, skipping.");
+                break;
+            } catch (QueueException e) {
+                runContext.logger().warn("Unable to emit dbt asset '{}'", modelAssets.assetId(i), e);
+            }
         }
-        Object adapterType = manifest.getMetadata().get("adapter_type");
-        return adapterType == null ? null : adapterType.toString();
     }
 
     private static String assetIdFor(String database, String schema, String name, String fallback) {
@@ -357,22 +527,99 @@ public abstract class ResultParser {
         return fallback;
     }
 
-    private static String firstNonBlank(String... values) {
-        if (values == null) {
-            return null;
+    private static boolean hasValue(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    /**
+     * Assets of the models of a manifest, resolved on demand from its lineage graph: the asset id, table asset
+     * and identifier of a model are built at most once, however many parents and children reference it.
+     */
+    private static final class ModelAssets {
+        private final ManifestIndex manifest;
+        private final String[] assetIds;
+        private final Asset[] tables;
+        private final AssetIdentifier[] identifiers;
+
+        private ModelAssets(ManifestIndex manifest) {
+            this.manifest = manifest;
+            this.assetIds = new String[manifest.size()];
+            this.tables = new Asset[manifest.size()];
+            this.identifiers = new AssetIdentifier[manifest.size()];
+        }
+
+        private int size() {
+            return manifest.size();
+        }
+
+        private AssetsInOut assetsFor(String uniqueId) {
+            int index = manifest.indexOf(uniqueId);
+            if (index < 0) {
+                return null;
+            }
+
+            return new AssetsInOut(inputs(index), outputs(index));
         }
-        for (String value : values) {
-            if (hasValue(value)) {
-                return value;
+
+        private List<AssetIdentifier> inputs(int index) {
+            int count = manifest.parentCount(index);
+            if (count == 0) {
+                return List.of();
+            }
+
+            AssetIdentifier[] inputs = new AssetIdentifier[count];
+            for (int n = 0; n < count; n++) {
+                inputs[n] = identifier(manifest.parent(index, n));
             }
+            return Arrays.asList(inputs);
         }
-        return null;
-    }
 
-    private static boolean hasValue(String value) {
-        return value != null && !value.trim().isEmpty();
-    }
+        private List<Asset> outputs(int index) {
+            int count = manifest.childCount(index);
+            if (count == 0) {
+                return List.of();
+            }
 
-    private record ModelAsset(String assetId, Map<String, Object> metadata, List<String> dependsOn, List<String> children) {
+            Asset[] outputs = new Asset[count];
+            for (int n = 0; n < count; n++) {
+                outputs[n] = table(manifest.child(index, n));
+            }
+            return Arrays.asList(outputs);
+        }
+
+        private String assetId(int index) {
+            if (assetIds[index] == null) {
+                assetIds[index] = assetIdFor(manifest.database(index), manifest.schema(index), manifest.name(index), manifest.uniqueId(index));
+            }
+            return assetIds[index];
+        }
+
+        private AssetIdentifier identifier(int index) {
+            if (identifiers[index] == null) {
+                identifiers[index] = new AssetIdentifier(null, null, assetId(index), TABLE_ASSET_TYPE);
+            }
+            return identifiers[index];
+        }
+
+        private Asset table(int index) {
+            if (tables[index] == null) {
+                Map<String, Object> metadata = new HashMap<>(4);
+                if (hasValue(manifest.adapterType()))
+                    metadata.put("system", manifest.adapterType());
+                if (hasValue(manifest.database(index)))
+                    metadata.put("database", manifest.database(index));
+                if (hasValue(manifest.schema(index)))
+                    metadata.put("schema", manifest.schema(index));
+                if (hasValue(manifest.name(index)))
+                    metadata.put("name", manifest.name(index));
+
+                tables[index] = Custom.builder()
+                    .id(assetId(index))
+                    .type(TABLE_ASSET_TYPE)
+                    .metadata(metadata)
+                    .build();
+            }
+            return tables[index];
+        }
     }
 }
@@ -0,0 +1,48 @@
+package io.kestra.plugin.dbt;
+
+import java.util.List;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.queues.QueueException;
+import io.kestra.core.runners.AssetEmit;
+import io.kestra.core.runners.DynamicTaskRunLog;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.WorkerTaskResult;
+
+/**
+ * Emits the metrics, assets and dynamic taskruns of a task to its run context.
+ * <p>
+ * The run context doesn't promise to be thread safe, while a dbt task emits from several threads: the one handling
+ * the dbt logs, the one emitting the nodes live and the timer flushing the taskruns batches. Every emission goes
+ * through here, under a single lock: the run context itself, so that all the emitters of a task share it without it
+ * being handed over.
+ */
+public final class RunContextEmissions {
+    private RunContextEmissions() {
+    }
+
+    public static void metric(RunContext runContext, AbstractMetricEntry<?> metric) {
+        synchronized (runContext) {
+            runContext.metric(metric);
+        }
+    }
+
+    public static void asset(RunContext runContext, AssetEmit asset) throws IllegalVariableEvaluationException, QueueException {
+        synchronized (runContext) {
+            runContext.assets().emit(asset);
+        }
+    }
+
+    public static void dynamicWorkerResult(RunContext runContext, WorkerTaskResult workerTaskResult, List<DynamicTaskRunLog> logs) {
+        synchronized (runContext) {
+            runContext.dynamicWorkerResult(workerTaskResult, logs);
+        }
+    }
+
+    public static void dynamicWorkerResult(RunContext runContext, List<WorkerTaskResult> workerTaskResults) {
+        synchronized (runContext) {
+            runContext.dynamicWorkerResult(workerTaskResults);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import io.kestra.core.models.tasks.runners.TaskRunner;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.dbt.ResultParser;
+import io.kestra.plugin.dbt.models.ManifestIndex;
 import io.kestra.plugin.scripts.exec.scripts.models.DockerOptions;
 import io.kestra.plugin.scripts.exec.scripts.models.RunnerType;
 import io.kestra.plugin.scripts.exec.scripts.models.ScriptOutput;
@@ -235,7 +236,7 @@ public abstract class AbstractDbt extends Task implements RunnableTask<ScriptOut
         String baseDir = runContext.render(this.projectDir).as(String.class).orElse("");
 
         File manifestFile = workingDirectory.resolve(baseDir + "target/manifest.json").toFile();
-        io.kestra.plugin.dbt.models.Manifest manifest = null;
+        ManifestIndex manifest = null;
 
         if (manifestFile.exists()) {
             ResultParser.ManifestResult manifestResult = ResultParser.parseManifestWithAssets(runContext, manifestFile);
@@ -4,14 +4,16 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.exceptions.ResourceExpiredException;
@@ -20,18 +22,19 @@ import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
 import io.kestra.core.models.flows.State;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.RunnableTaskException;
 import io.kestra.core.models.tasks.runners.TaskRunner;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.storages.kv.KVStore;
-import io.kestra.core.storages.kv.KVValue;
-import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.plugin.dbt.AdapterMetrics;
+import io.kestra.plugin.dbt.NodeLogs;
+import io.kestra.plugin.dbt.ParallelTasks;
 import io.kestra.plugin.dbt.ResultParser;
-import io.kestra.plugin.dbt.models.Manifest;
+import io.kestra.plugin.dbt.models.ManifestIndex;
 import io.kestra.plugin.scripts.exec.AbstractExecScript;
 import io.kestra.plugin.scripts.exec.scripts.models.DockerOptions;
 import io.kestra.plugin.scripts.exec.scripts.models.ScriptOutput;
@@ -44,6 +47,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import static io.kestra.core.utils.Rethrow.throwSupplier;
+
 @SuperBuilder
 @ToString
 @EqualsAndHashCode
@@ -298,6 +303,100 @@ import lombok.experimental.SuperBuilder;
             type = Counter.TYPE,
             unit = "records",
             description = "The number of error log entries parsed from DBT output."
+        ),
+        @Metric(
+            name = "log.queue.depth",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The maximum number of dbt log lines waiting to be parsed, with `logQueueSize`."
+        ),
+        @Metric(
+            name = "log.dropped",
+            type = Counter.TYPE,
+            unit = "records",
+            description = "The number of dbt log lines dropped as the log queue was full, with `logQueueSize`."
+        ),
+        @Metric(
+            name = "rows.affected",
+            type = Counter.TYPE,
+            description = "The rows affected by each dbt node, or their sum per resource type and model tag with `aggregateAdapterMetrics`, in which case `rows.affected.max` and `rows.affected.p95` are also emitted."
+        ),
+        @Metric(
+            name = "bytes.processed",
+            type = Counter.TYPE,
+            unit = "bytes",
+            description = "The bytes processed by each dbt node, or their sum per resource type and model tag with `aggregateAdapterMetrics`, in which case `bytes.processed.max` and `bytes.processed.p95` are also emitted."
+        ),
+        @Metric(
+            name = "bytes.billed",
+            type = Counter.TYPE,
+            unit = "bytes",
+            description = "The bytes billed for each dbt node, on adapters reporting it such as BigQuery, or their sum per resource type and model tag with `aggregateAdapterMetrics`, in which case `bytes.billed.max` and `bytes.billed.p95` are also emitted."
+        ),
+        @Metric(
+            name = "slot.ms",
+            type = Counter.TYPE,
+            unit = "milliseconds",
+            description = "The slot milliseconds consumed by each dbt node, on adapters reporting it such as BigQuery, or their sum per resource type and model tag with `aggregateAdapterMetrics`, in which case `slot.ms.max` and `slot.ms.p95` are also emitted."
+        ),
+        @Metric(
+            name = "node.compile.duration",
+            type = Timer.TYPE,
+            description = "The time spent compiling each dbt node, tagged with its `unique_id`, from `run_results.json`. Not emitted with `aggregateAdapterMetrics`, one series per node not scaling to large projects."
+        ),
+        @Metric(
+            name = "node.execute.duration",
+            type = Timer.TYPE,
+            description = "The time spent executing each dbt node, tagged with its `unique_id`, from `run_results.json`. Not emitted with `aggregateAdapterMetrics`, one series per node not scaling to large projects."
+        ),
+        @Metric(
+            name = "manifest.store.size",
+            type = Counter.TYPE,
+            unit = "bytes",
+            description = "The size of the `manifest.json` file stored with `storeManifest`."
+        ),
+        @Metric(
+            name = "manifest.store.compressed.size",
+            type = Counter.TYPE,
+            unit = "bytes",
+            description = "The size of the compressed manifest stored with `storeManifest`, when `compression` is set."
+        ),
+        @Metric(
+            name = "manifest.store.skipped",
+            type = Counter.TYPE,
+            description = "Incremented when `storeManifest` skips the KV store write because the manifest is unchanged since it was last stored."
+        ),
+        @Metric(
+            name = "manifest.store.parts",
+            type = Counter.TYPE,
+            description = "The number of parts a manifest was split into by `storeManifest`, when `chunkSize` is set."
+        ),
+        @Metric(
+            name = "manifest.store.duration",
+            type = Timer.TYPE,
+            description = "The time spent storing and parsing the manifest with `storeManifest`."
+        ),
+        @Metric(
+            name = "manifest.load.size",
+            type = Counter.TYPE,
+            unit = "bytes",
+            description = "The size of the `manifest.json` file restored with `loadManifest`."
+        ),
+        @Metric(
+            name = "manifest.load.compressed.size",
+            type = Counter.TYPE,
+            unit = "bytes",
+            description = "The size of the compressed manifest read with `loadManifest`, when it was stored compressed."
+        ),
+        @Metric(
+            name = "manifest.load.parts",
+            type = Counter.TYPE,
+            description = "The number of parts read by `loadManifest` for a chunked manifest."
+        ),
+        @Metric(
+            name = "manifest.load.duration",
+            type = Timer.TYPE,
+            description = "The time spent restoring the manifest with `loadManifest`."
         )
     }
 )
@@ -335,6 +434,60 @@ public class DbtCLI extends AbstractExecScript implements RunnableTask<DbtCLI.Ou
     @PluginProperty(group = "advanced")
     protected Property<Boolean> parseRunResults = Property.ofValue(Boolean.TRUE);
 
+    @Schema(
+        title = "Batch size of the dbt node taskruns",
+        description = "When set above 1, the taskruns created for the nodes of `run_results.json` are registered by batches of this size instead of one by one, reducing the queue pressure of large builds. The log lines of each node are then written to the logs of this task instead of being attached to the node taskrun."
+    )
+    @PluginProperty(group = "advanced")
+    private Property<Integer> taskRunsBatchSize;
+
+    @Schema(
+        title = "Maximum delay of a batch of dbt node taskruns",
+        description = "Only used with `taskRunsBatchSize`: a batch is registered once full, or once its first taskrun has waited this long."
+    )
+    @Builder.Default
+    @PluginProperty(group = "advanced")
+    private Property<Duration> taskRunsBatchDelay = Property.ofValue(Duration.ofSeconds(1));
+
+    @Schema(
+        title = "Aggregate the adapter metrics",
+        description = "When true, the adapter metrics `rows.affected`, `bytes.processed`, `bytes.billed` and `slot.ms` are no longer emitted once per dbt node: their sum, max (`.max`) and 95th percentile (`.p95`) are emitted once per resource type (tagged `resource_type`) and once per model tag (tagged `tag`), which keeps the number of metrics low on large projects. The per node `node.compile.duration` and `node.execute.duration` timers are not emitted either."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> aggregateAdapterMetrics = Property.ofValue(false);
+
+    @Schema(
+        title = "Create the dbt node taskruns while dbt is running",
+        description = "When true, the taskrun and metrics of each dbt node are created as soon as dbt reports it finished in its JSON logs, so long builds show their progress live; `run_results.json` is then only used for the nodes that were not reported. Requires `logFormat: JSON`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> liveTaskRuns = Property.ofValue(false);
+
+    @Schema(
+        title = "Write the dbt node log lines to the node taskruns",
+        description = "When true, the dbt log lines of a node (carrying its `node_info`) are written to the logs of the node taskrun instead of the logs of this task, which keeps the task logs small on large projects. The lines are attached to the taskrun when it is created, so the lines logged after that, and the lines of the nodes without a taskrun, stay on this task. Requires `logFormat: JSON`, and is ignored for the nodes registered by batches with `taskRunsBatchSize`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> nodeTaskRunLogs = Property.ofValue(false);
+
+    @Schema(
+        title = "Size of the dbt log queue",
+        description = "When set, the dbt log lines are queued and parsed by batches on a dedicated thread instead of the thread reading the dbt output, so that slow log appenders don't slow down dbt; the output markers are still handled right away. The queue holds at most this number of lines, see `logOverflow` for what happens when it is full."
+    )
+    @PluginProperty(group = "processing")
+    private Property<Integer> logQueueSize;
+
+    @Schema(
+        title = "Behavior when the dbt log queue is full",
+        description = "Only used with `logQueueSize`. BLOCK (default) waits for the queue to have room, slowing down dbt; DROP drops the new lines; DROP_DEBUG only drops the new debug lines, except the ones carrying run stats or, with `liveTaskRuns`, a finished node, and waits for the others. The output markers are never queued, so never dropped. The dropped lines are counted in the `log.dropped` metric."
+    )
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<LogOverflow> logOverflow = Property.ofValue(LogOverflow.BLOCK);
+
     @Schema(
         title = "Task runner",
         description = "Runner configuration for executing commands. Default is Docker with an empty entrypoint; adjust entrypoint when switching runners."
@@ -423,8 +576,7 @@ public class DbtCLI extends AbstractExecScript implements RunnableTask<DbtCLI.Ou
         }
 
         CommandsWrapper commandsWrapper = this.commands(runContext)
-            .withEnableOutputDirectory(true) // force the output dir, so we can get the run_results.json and manifest.json files on each task runners
-            .withLogConsumer(new DbtLogConsumer(runContext, hasWarning));
+            .withEnableOutputDirectory(true); // force the output dir, so we can get the run_results.json and manifest.json files on each task runners
 
         var rProjectDir = runContext.render(projectDir).as(String.class);
         Path projectWorkingDirectory = rProjectDir
@@ -433,6 +585,39 @@ public class DbtCLI extends AbstractExecScript implements RunnableTask<DbtCLI.Ou
 
         logger.info("dbt project working directory: {}", projectWorkingDirectory);
 
+        LogFormat rLogFormat = runContext.render(this.logFormat).as(LogFormat.class).orElseThrow();
+
+        AdapterMetrics adapterMetrics = runContext.render(this.aggregateAdapterMetrics).as(Boolean.class).orElse(false) ? new AdapterMetrics() : null;
+
+        NodeLogs nodeLogs = null;
+        if (runContext.render(this.nodeTaskRunLogs).as(Boolean.class).orElse(false)) {
+            if (rLogFormat == LogFormat.JSON) {
+                nodeLogs = new NodeLogs(runContext);
+            } else {
+                logger.warn("Property `nodeTaskRunLogs` requires `logFormat: JSON`, the dbt node log lines will be written to the task logs.");
+            }
+        }
+
+        ResultParser.EmitOptions emitOptions = ResultParser.EmitOptions.builder()
+            .batchSize(runContext.render(this.taskRunsBatchSize).as(Integer.class).orElse(null))
+            .batchDelay(runContext.render(this.taskRunsBatchDelay).as(Duration.class).orElse(Duration.ofSeconds(1)))
+            .adapterMetrics(adapterMetrics)
+            .nodeLogs(nodeLogs)
+            .build();
+
+        ResultParser.LiveRunResults liveRunResults = null;
+        if (runContext.render(this.liveTaskRuns).as(Boolean.class).orElse(false)) {
+            if (rLogFormat == LogFormat.JSON) {
+                liveRunResults = new ResultParser.LiveRunResults(
+                    runContext,
+                    projectWorkingDirectory.resolve("target/manifest.json").toFile(),
+                    emitOptions
+                );
+            } else {
+                logger.warn("Property `liveTaskRuns` requires `logFormat: JSON`, the dbt node taskruns will be created once dbt exits.");
+            }
+        }
+
         // Load manifest from KV store
         if (this.getLoadManifest() != null) {
             KVStore loadManifestKvStore = runContext.namespaceKv(
@@ -452,13 +637,23 @@ public class DbtCLI extends AbstractExecScript implements RunnableTask<DbtCLI.Ou
 
         var rCommands = runContext.render(this.commands).asList(String.class);
 
-        LogFormat rLogFormat = runContext.render(this.logFormat).as(LogFormat.class).orElseThrow();
-
         final String logPathArg = " --log-path logs";
 
+        DbtLogConsumer logConsumer = new DbtLogConsumer(
+            runContext,
+            hasWarning,
+            DbtLogConsumer.Options.builder()
+                .liveRunResults(liveRunResults)
+                .nodeLogs(nodeLogs)
+                .queueSize(runContext.render(this.logQueueSize).as(Integer.class).orElse(null))
+                .overflow(runContext.render(this.logOverflow).as(LogOverflow.class).orElse(LogOverflow.BLOCK))
+                .build()
+        );
+
         ScriptOutput runResults;
         try {
             runResults = commandsWrapper
+                .withLogConsumer(logConsumer)
                 .addEnv(
                     Map.of(
                         "PYTHONUNBUFFERED", "true",
@@ -496,11 +691,12 @@ public class DbtCLI extends AbstractExecScript implements RunnableTask<DbtCLI.Ou
                 )
                 .run();
         } catch (Exception e) {
+            logConsumer.close();
             runResults = (e instanceof RunnableTaskException rte && rte.getOutput() instanceof ScriptOutput so)
                 ? so
                 : ScriptOutput.builder().exitCode(1).outputFiles(new HashMap<>()).build();
 
-            parseRunResults(runContext, projectWorkingDirectory, runResults, storeManifestKvStore);
+            parseRunResults(runContext, projectWorkingDirectory, runResults, storeManifestKvStore, liveRunResults, emitOptions);
             Output dbtOutput = Output.builder()
                 .warningDetected(hasWarning.get())
                 .outputFiles(runResults.getOutputFiles())
@@ -511,7 +707,8 @@ public class DbtCLI extends AbstractExecScript implements RunnableTask<DbtCLI.Ou
             throw new RunnableTaskException(e.getMessage(), dbtOutput);
         }
 
-        parseRunResults(runContext, projectWorkingDirectory, runResults, storeManifestKvStore);
+        logConsumer.close();
+        parseRunResults(runContext, projectWorkingDirectory, runResults, storeManifestKvStore, liveRunResults, emitOptions);
 
         return Output.builder()
             .warningDetected(hasWarning.get())
@@ -521,54 +718,125 @@ public class DbtCLI extends AbstractExecScript implements RunnableTask<DbtCLI.Ou
             .build();
     }
 
-    private void parseRunResults(RunContext runContext, Path projectWorkingDirectory, ScriptOutput run, KVStore storeManifestKvStore) throws IllegalVariableEvaluationException, IOException {
+    /**
+     * The I/O bound post-run steps run concurrently on virtual threads: storing or parsing the manifest, and uploading
+     * it along with run_results.json. The manifest is not parsed again when it was to emit the nodes live. Once they
+     * are done, the assets, the dynamic taskruns and the metrics are emitted by the calling thread.
+     */
+    private void parseRunResults(RunContext runContext, Path projectWorkingDirectory, ScriptOutput run, KVStore storeManifestKvStore, ResultParser.LiveRunResults liveRunResults, ResultParser.EmitOptions emitOptions) throws Exception {
+        // once the nodes reported live are flushed
+        if (liveRunResults != null) {
+            liveRunResults.close();
+        }
+        ResultParser.EmitOptions options = liveRunResults == null ? emitOptions : emitOptions.toBuilder().emitted(liveRunResults.emitted()).build();
+        ManifestIndex liveManifest = liveRunResults == null ? null : liveRunResults.manifest();
+
         File manifestFile = projectWorkingDirectory.resolve("target/manifest.json").toFile();
-        Manifest manifest = null;
-        if (!manifestFile.exists()) {
+        File runResultsFile = projectWorkingDirectory.resolve("target/run_results.json").toFile();
+
+        boolean hasManifest = manifestFile.exists();
+        if (!hasManifest) {
             runContext.logger().warn("dbt manifest not found at {} (assets will NOT be emitted)", manifestFile.getAbsolutePath());
         } else {
             runContext.logger().info("dbt manifest found at {}", manifestFile.getAbsolutePath());
-            if (this.getStoreManifest() != null && storeManifestKvStore != null) {
-                final String key = runContext.render(this.getStoreManifest().getKey()).as(String.class).orElseThrow();
-                storeManifestKvStore.put(key, new KVValueAndMetadata(null, JacksonMapper.toObject(Files.readString(manifestFile.toPath()))));
-            }
+        }
 
-            ResultParser.ManifestResult manifestResult = ResultParser.parseManifestWithAssets(runContext, manifestFile);
-            runContext.logger().info(
-                "Manifest parse done. uri={}, metadata={}, nodes={}",
-                manifestResult.uri(),
-                manifestResult.manifest() != null ? manifestResult.manifest().getMetadata().size() : -1,
-                manifestResult.manifest() != null ? manifestResult.manifest().getNodes().size() : -1
-            );
-            manifest = manifestResult.manifest();
-            run.getOutputFiles().put("manifest.json", manifestResult.uri());
+        boolean hasRunResults = runContext.render(this.parseRunResults).as(Boolean.class).orElse(Boolean.TRUE) && runResultsFile.exists();
+
+        // rendered upfront, the steps themselves don't render anything
+        String storeManifestKey = null;
+        ManifestFormat storeManifestFormat = null;
+        ManifestCompression storeManifestCompression = null;
+        Integer storeManifestChunkSize = null;
+        boolean storeManifest = hasManifest && this.getStoreManifest() != null && storeManifestKvStore != null;
+        if (storeManifest) {
+            storeManifestKey = runContext.render(this.getStoreManifest().getKey()).as(String.class).orElseThrow();
+            storeManifestFormat = runContext.render(this.getStoreManifest().getFormat()).as(ManifestFormat.class).orElse(ManifestFormat.JSON);
+            storeManifestCompression = runContext.render(this.getStoreManifest().getCompression()).as(ManifestCompression.class).orElse(ManifestCompression.NONE);
+            storeManifestChunkSize = runContext.render(this.getStoreManifest().getChunkSize()).as(Integer.class).orElse(null);
         }
 
-        if (runContext.render(this.parseRunResults).as(Boolean.class).orElse(Boolean.TRUE) && projectWorkingDirectory.resolve("target/run_results.json").toFile().exists()) {
-            URI results = ResultParser.parseRunResult(runContext, projectWorkingDirectory.resolve("target/run_results.json").toFile(), manifest);
-            run.getOutputFiles().put("run_results.json", results);
+        String key = storeManifestKey;
+        ManifestFormat format = storeManifestFormat;
+        ManifestCompression compression = storeManifestCompression;
+        Integer chunkSize = storeManifestChunkSize;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<ManifestKvStore.Stored> stored = !storeManifest ?
+                CompletableFuture.completedFuture(null) :
+                CompletableFuture.supplyAsync(throwSupplier(() -> ManifestKvStore.write(runContext, storeManifestKvStore, key, format, compression, chunkSize, manifestFile, liveManifest)), executor);
+
+            CompletableFuture<ManifestIndex> manifest;
+            if (!hasManifest) {
+                manifest = CompletableFuture.completedFuture(null);
+            } else if (storeManifest) {
+                manifest = stored.thenApply(ManifestKvStore.Stored::manifest);
+            } else if (liveManifest != null) {
+                manifest = CompletableFuture.completedFuture(liveManifest);
+            } else {
+                manifest = CompletableFuture.supplyAsync(throwSupplier(() -> ResultParser.parseManifest(manifestFile)), executor);
+            }
+
+            CompletableFuture<URI> manifestUri = !hasManifest ?
+                CompletableFuture.completedFuture(null) :
+                CompletableFuture.supplyAsync(throwSupplier(() -> runContext.storage().putFile(manifestFile)), executor);
+
+            CompletableFuture<URI> runResultsUri = !hasRunResults ?
+                CompletableFuture.completedFuture(null) :
+                CompletableFuture.supplyAsync(throwSupplier(() -> runContext.storage().putFile(runResultsFile)), executor);
+
+            ParallelTasks.awaitAll(List.of(stored, manifest, manifestUri, runResultsUri));
+
+            // the metrics, assets and taskruns are only emitted by this thread, the run context isn't thread safe
+            if (storeManifest) {
+                stored.join().emit(runContext);
+            }
+
+            if (manifest.join() != null) {
+                ResultParser.emitAssets(runContext, manifest.join());
+            }
+
+            if (hasRunResults) {
+                ResultParser.emitRunResult(runContext, runResultsFile, manifest.join(), options);
+            }
+
+            if (options.adapterMetrics() != null) {
+                options.adapterMetrics().emit(runContext);
+            }
+
+            if (hasManifest) {
+                runContext.logger().info(
+                    "Manifest parse done. uri={}, adapter={}, models={}",
+                    manifestUri.join(),
+                    manifest.join().adapterType(),
+                    manifest.join().size()
+                );
+                run.getOutputFiles().put("manifest.json", manifestUri.join());
+            }
+
+            if (hasRunResults) {
+                run.getOutputFiles().put("run_results.json", runResultsUri.join());
+            }
+        } finally {
+            // the lines of the nodes without a taskrun
+            if (options.nodeLogs() != null) {
+                options.nodeLogs().close();
+            }
         }
     }
 
     private void fetchAndStoreManifestIfExists(RunContext runContext, KVStore loadManifestKvStore, Path projectWorkingDirectory)
         throws IOException, ResourceExpiredException, IllegalVariableEvaluationException {
-        Optional<KVValue> manifestValue = loadManifestKvStore.getValue(runContext.render(this.getLoadManifest().getKey()).as(String.class).get());
+        boolean loaded = ManifestKvStore.load(
+            runContext,
+            loadManifestKvStore,
+            runContext.render(this.getLoadManifest().getKey()).as(String.class).orElseThrow(),
+            projectWorkingDirectory.resolve("target/manifest.json")
+        );
 
-        if (manifestValue.isEmpty() || manifestValue.get().value() == null || StringUtils.isBlank(manifestValue.get().value().toString())) {
+        if (!loaded) {
             runContext.logger().warn("Property `loadManifest` has been used but no manifest has been found in the KV Store.");
-            return;
         }
-        var value = manifestValue.get().value();
-        var manifestContent = value instanceof String manifestAsString
-            ? manifestAsString
-            : JacksonMapper.ofJson().writeValueAsString(value);
-
-        var manifestFile = new File(projectWorkingDirectory.toString(), "target/manifest.json");
-        FileUtils.writeStringToFile(
-            manifestFile,
-            manifestContent,
-            StandardCharsets.UTF_8
-        );
     }
 
     @SuperBuilder
@@ -593,6 +861,42 @@ public class DbtCLI extends AbstractExecScript implements RunnableTask<DbtCLI.Ou
         @NotNull
         @Schema(title = "Namespace", description = "KV store namespace containing the manifest.json")
         Property<String> namespace;
+
+        @Schema(
+            title = "Storage format",
+            description = "Only used by `storeManifest`. `JSON` (default) stores the manifest as a JSON object; `RAW` stores the file content as-is, avoiding the conversion to an object graph on store and the serialization back to JSON on load, which is recommended for large projects. `loadManifest` detects the format of the stored value."
+        )
+        @Builder.Default
+        Property<ManifestFormat> format = Property.ofValue(ManifestFormat.JSON);
+
+        @Schema(
+            title = "Compression",
+            description = "Only used by `storeManifest`. `GZIP` compresses the manifest file content and stores it as a Base64 string whatever the `format`; manifests usually compress 15 to 25 times, reducing what goes through the KV store backend. `loadManifest` decompresses it on the fly into `target/manifest.json`."
+        )
+        @Builder.Default
+        Property<ManifestCompression> compression = Property.ofValue(ManifestCompression.NONE);
+
+        @Schema(
+            title = "Chunk size in bytes",
+            description = "Only used by `storeManifest`. When set, a manifest whose stored value, after compression, is larger than this is encoded in Base64 and split into parts of at most this size stored under their own keys next to `key`, which then holds an index of the parts; parts are written and read in parallel, and the parts of a replaced manifest are deleted by the next store. Use it when the manifest exceeds the value size limit of the KV store backend. `loadManifest` detects a chunked manifest."
+        )
+        Property<Integer> chunkSize;
+    }
+
+    public enum ManifestFormat {
+        JSON,
+        RAW
+    }
+
+    public enum ManifestCompression {
+        NONE,
+        GZIP
+    }
+
+    public enum LogOverflow {
+        BLOCK,
+        DROP,
+        DROP_DEBUG
     }
 
     enum LogFormat {
@@ -1,44 +1,240 @@
 package io.kestra.plugin.dbt.cli;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.tasks.runners.AbstractLogConsumer;
 import io.kestra.core.models.tasks.runners.PluginUtilsService;
 import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.dbt.NodeLogs;
+import io.kestra.plugin.dbt.ResultParser;
+import io.kestra.plugin.dbt.RunContextEmissions;
+
+import lombok.Builder;
 
 /**
  * Routes a line to one of two parsers:
  * - `::{...}::` output markers go to {@link PluginUtilsService#parseOut} so vars are exposed on the task output.
- * - everything else goes to {@link LogService#parse} for dbt-specific structured JSON logging.
+ * - everything else goes to {@link LogService#parse} for dbt-specific structured JSON logging, along with the
+ *   {@link ResultParser.LiveRunResults} when the nodes taskruns are emitted live.
  *
  * Calling both for every line would double-log non-marker lines, since `parseOut` logs the raw line
  * when no marker is found and `LogService.parse` also logs.
+ *
+ * With a queue size, the dbt log lines are only queued by the thread reading the process output and handled on a
+ * dedicated thread, so that slow log appenders don't slow down dbt. It drains the queue by batches of up to
+ * {@link #BATCH_SIZE} lines, taking the queue lock once per batch rather than once per line; each line is still
+ * parsed and logged on its own. The output markers are always handled synchronously by the reading thread: the task
+ * runner reads the outputs as soon as the process exited, before {@link #close()} is called to handle the remaining
+ * lines. A line that fails to be handled is skipped, so that the dedicated thread never stops draining the queue.
  */
-class DbtLogConsumer extends AbstractLogConsumer {
+class DbtLogConsumer extends AbstractLogConsumer implements AutoCloseable {
+    private static final int BATCH_SIZE = 256;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofMinutes(1);
+
     private final RunContext runContext;
     private final AtomicBoolean hasWarning;
+    private final Options options;
+
+    private final BlockingQueue<Entry> queue;
+    private final Thread consumer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Throwable failure;
+    private int maxDepth;
+    private boolean closed;
 
     DbtLogConsumer(RunContext runContext) {
         this(runContext, new AtomicBoolean(false));
     }
 
     DbtLogConsumer(RunContext runContext, AtomicBoolean hasWarning) {
+        this(runContext, hasWarning, Options.DEFAULT);
+    }
+
+    DbtLogConsumer(RunContext runContext, AtomicBoolean hasWarning, Options options) {
         this.runContext = runContext;
         this.hasWarning = hasWarning;
+        this.options = options;
+
+        Integer queueSize = options.queueSize();
+        if (queueSize == null) {
+            this.queue = null;
+            this.consumer = null;
+        } else {
+            if (queueSize <= 0) {
+                throw new IllegalArgumentException("The log queue size must be greater than 0, got " + queueSize);
+            }
+
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.consumer = Thread.ofVirtual().name("dbt-log-consumer").start(this::consume);
+        }
     }
 
     @Override
     public void accept(String line, Boolean isStdErr, Instant instant) {
-        if (line != null && line.startsWith("::{") && line.endsWith("}::")) {
+        if (isOutput(line)) {
             this.outputs.putAll(PluginUtilsService.parseOut(line, runContext.logger(), runContext, isStdErr, instant));
-            return;
+        } else if (queue == null) {
+            LogService.parse(runContext, line, hasWarning, options);
+        } else {
+            enqueue(new Line(line, isStdErr, instant));
         }
-        LogService.parse(runContext, line, hasWarning);
     }
 
     @Override
     public void accept(String line, Boolean isStdErr) {
         this.accept(line, isStdErr, null);
     }
+
+    private void enqueue(Line line) {
+        if (options.overflow() == DbtCLI.LogOverflow.BLOCK) {
+            put(line);
+            return;
+        }
+
+        if (queue.offer(line)) {
+            return;
+        }
+
+        if (options.overflow() == DbtCLI.LogOverflow.DROP || (line.line() != null && LogService.isDroppable(line.line(), options.liveRunResults() != null))) {
+            dropped.incrementAndGet();
+        } else {
+            put(line);
+        }
+    }
+
+    private void put(Line line) {
+        try {
+            // the line is handled here if the consumer is gone, rather than waiting forever for room
+            while (!queue.offer(line, 1, TimeUnit.SECONDS)) {
+                if (!consumer.isAlive()) {
+                    handle(line);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            handle(line);
+        }
+    }
+
+    private void consume() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+
+        try {
+            while (true) {
+                batch.add(queue.take());
+                maxDepth = Math.max(maxDepth, queue.size() + 1);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+
+                for (Entry entry : batch) {
+                    switch (entry) {
+                        case End end -> {
+                            return;
+                        }
+                        case Line line -> handle(line);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(Line line) {
+        try {
+            LogService.parse(runContext, line.line(), hasWarning, options);
+        } catch (Throwable e) {
+            if (failed.getAndIncrement() == 0) {
+                failure = e;
+            }
+        }
+    }
+
+    private static boolean isOutput(String line) {
+        return line != null && line.startsWith("::{") && line.endsWith("}::");
+    }
+
+    /**
+     * Wait for the queued lines to be handled and emit the queue metrics, a no-op when the lines are handled
+     * synchronously.
+     */
+    @Override
+    public synchronized void close() {
+        if (consumer == null || closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            // bounded, so that a consumer that can't make progress never hangs the task
+            if (consumer.isAlive() && queue.offer(new End(), CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                consumer.join(CLOSE_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (consumer.isAlive()) {
+            consumer.interrupt();
+            runContext.logger().warn("The dbt log lines could not all be written within {}, the remaining ones are skipped.", CLOSE_TIMEOUT);
+        } else {
+            // the lines left if the consumer stopped early
+            List<Entry> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            for (Entry entry : remaining) {
+                if (entry instanceof Line line) {
+                    handle(line);
+                }
+            }
+        }
+
+        RunContextEmissions.metric(runContext, Counter.of("log.queue.depth", maxDepth));
+        if (dropped.get() > 0) {
+            RunContextEmissions.metric(runContext, Counter.of("log.dropped", dropped.get()));
+            runContext.logger().warn("{} dbt log lines were dropped as the logs could not be written fast enough.", dropped.get());
+        }
+        if (failed.get() > 0) {
+            runContext.logger().warn("{} dbt log lines could not be handled.", failed.get(), failure);
+        }
+    }
+
+    /**
+     * How the lines are handled, every option being optional.
+     *
+     * @param liveRunResults when set, receives the {@code NodeFinished} events to emit the nodes taskruns live
+     * @param nodeLogs when set, holds the lines of the dbt nodes to be written to the logs of their taskrun
+     * @param queueSize the number of lines that can wait to be handled, or null to handle them on the calling thread
+     * @param overflow what to do with a line when the queue is full, {@link DbtCLI.LogOverflow#BLOCK} by default
+     */
+    @Builder
+    record Options(ResultParser.LiveRunResults liveRunResults, NodeLogs nodeLogs, Integer queueSize, DbtCLI.LogOverflow overflow) {
+        static final Options DEFAULT = Options.builder().build();
+
+        Options {
+            overflow = overflow == null ? DbtCLI.LogOverflow.BLOCK : overflow;
+        }
+    }
+
+    private sealed interface Entry permits Line, End {
+    }
+
+    private record Line(String line, Boolean isStdErr, Instant instant) implements Entry {
+    }
+
+    /**
+     * Queued by {@link #close()} after the last line.
+     */
+    private record End() implements Entry {
+    }
 }
@@ -1,100 +1,306 @@
 package io.kestra.plugin.dbt.cli;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.dbt.NodeLogs;
+import io.kestra.plugin.dbt.ResultParser;
+import io.kestra.plugin.dbt.RunContextEmissions;
 
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Parses the dbt JSON log lines.
+ * <p>
+ * Lines are read token by token: only the level, date, thread, type and message are extracted, along with the
+ * {@code data.stats} counters; the other subtrees are skipped without being deserialized, and the rare extra
+ * {@code info} fields are the only values materialized.
+ */
 class LogService {
     static final protected ObjectMapper MAPPER = JacksonMapper.ofJson()
         .setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
-    @SuppressWarnings("unchecked")
+    // info fields that are either printed on their own or not worth printing
+    private static final Set<String> INFO_EXCLUDED = Set.of(
+        "category", "code", "invocation_id", "level", "log_version", "msg", "thread", "thread_name", "type", "name",
+        "ts", "pid", "extra"
+    );
+
+    private static final String FORMAT = "[Date: {}] [Thread: {}] [Type: {}] {}{}";
+
+    private static final String LEVEL_KEY = "\"level\"";
+    private static final String DEBUG_VALUE = "\"debug\"";
+
     protected static void parse(RunContext runContext, String line, AtomicBoolean hasWarning) {
-        try {
-            Map<String, Object> jsonLog = (Map<String, Object>) MAPPER.readValue(line, Object.class);
-
-            String level;
-            String ts;
-            String thread;
-            String type;
-            String msg;
-            HashMap<String, Object> additional = new HashMap<>();
-
-            if (jsonLog.containsKey("info")) {
-                Map<String, Object> infoLog = (Map<String, Object>) jsonLog.get("info");
-
-                level = (String) infoLog.get("level");
-                ts = (String) infoLog.get("ts");
-                thread = (String) infoLog.get("thread");
-                type = (String) infoLog.get("name");
-                msg = (String) infoLog.get("msg");
-
-                additional.putAll(infoLog);
-            } else {
-                level = (String) jsonLog.get("level");
-                ts = (String) jsonLog.get("ts");
-                thread = (String) jsonLog.get("thread_name");
-                type = (String) jsonLog.get("type");
-                msg = (String) jsonLog.get("msg");
+        parse(runContext, line, hasWarning, DbtLogConsumer.Options.DEFAULT);
+    }
+
+    /**
+     * @param options the live taskruns and the node logs the lines are routed to, if any
+     */
+    @SuppressWarnings("unchecked")
+    protected static void parse(RunContext runContext, String line, AtomicBoolean hasWarning, DbtLogConsumer.Options options) {
+        ResultParser.LiveRunResults liveRunResults = options.liveRunResults();
+        NodeLogs nodeLogs = options.nodeLogs();
+        if (line != null && isDiscarded(runContext, line, liveRunResults != null)) {
+            return;
+        }
+
+        try (JsonParser parser = MAPPER.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                runContext.logger().info(line.trim());
+                return;
             }
 
-            additional.remove("category");
-            additional.remove("code");
-            additional.remove("invocation_id");
-            additional.remove("level");
-            additional.remove("log_version");
-            additional.remove("code");
-            additional.remove("msg");
-            additional.remove("thread");
-            additional.remove("thread_name");
-            additional.remove("type");
-            additional.remove("name");
-            additional.remove("ts");
-            additional.remove("pid");
-            additional.remove("extra");
-
-            String format = "[Date: {}] [Thread: {}] [Type: {}] {}{}";
-            String[] args = new String[] {
-                ts,
-                thread,
-                type,
-                msg != null ? msg + " " : "",
-                !additional.isEmpty() ? additional.toString() : ""
-            };
-
-            if (jsonLog.containsKey("data")) {
-                Map<String, Object> data = (Map<String, Object>) jsonLog.get("data");
-
-                if (data.containsKey("stats")) {
-                    Map<String, Integer> stats = (Map<String, Integer>) data.get("stats");
-
-                    stats.forEach((s, integer) -> runContext.metric(Counter.of(s, integer)));
+            LogLine log = new LogLine();
+            TokenBuffer data = null;
+            String uniqueId = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                switch (field) {
+                    case "info" -> readInfo(parser, log);
+                    case "data" -> {
+                        // kept aside when live: the event type may only be known once `info` has been read
+                        if (liveRunResults != null) {
+                            data = TokenBuffer.asCopyOfValue(parser);
+                            try (JsonParser dataParser = data.asParser(MAPPER)) {
+                                dataParser.nextToken();
+                                uniqueId = readData(runContext, dataParser);
+                            }
+                        } else {
+                            uniqueId = readData(runContext, parser);
+                        }
+                    }
+                    case "level" -> log.level = text(parser);
+                    case "ts" -> log.ts = text(parser);
+                    case "thread_name" -> log.thread = text(parser);
+                    case "type" -> log.type = text(parser);
+                    case "msg" -> log.msg = text(parser);
+                    default -> parser.skipChildren();
                 }
             }
 
-            switch (level) {
-                case "debug":
-                    runContext.logger().debug(format, (Object[]) args);
-                    break;
-                case "info":
-                    runContext.logger().info(format, (Object[]) args);
-                    break;
-                case "warn":
-                    hasWarning.set(true);
-                    runContext.logger().warn(format, (Object[]) args);
-                    break;
-                default:
-                    runContext.logger().error(format, (Object[]) args);
+            if (log.info != null) {
+                log = log.info;
+            }
+
+            if (log.level == null) {
+                runContext.logger().info(line.trim());
+            } else {
+                log(runContext, log, hasWarning, nodeLogs, uniqueId);
+            }
+
+            // once logged, so that the line is attached to the node taskrun
+            if (data != null && "NodeFinished".equals(log.type)) {
+                try (JsonParser dataParser = data.asParser(MAPPER)) {
+                    liveRunResults.nodeFinished(MAPPER.readValue(dataParser, Map.class));
+                }
             }
         } catch (Throwable e) {
             runContext.logger().info(line.trim());
         }
     }
+
+    private static void log(RunContext runContext, LogLine log, AtomicBoolean hasWarning, NodeLogs nodeLogs, String uniqueId) {
+        String[] args = new String[] {
+            log.ts,
+            log.thread,
+            log.type,
+            log.msg != null ? log.msg + " " : "",
+            log.additional != null && !log.additional.isEmpty() ? log.additional.toString() : ""
+        };
+
+        Level level = switch (log.level) {
+            case "debug" -> Level.DEBUG;
+            case "info" -> Level.INFO;
+            case "warn" -> Level.WARN;
+            default -> Level.ERROR;
+        };
+
+        if (level == Level.WARN) {
+            hasWarning.set(true);
+        }
+
+        if (nodeLogs != null && uniqueId != null && runContext.logger().isEnabledForLevel(level) &&
+            nodeLogs.add(uniqueId, level, MessageFormatter.arrayFormat(FORMAT, args).getMessage())) {
+            return;
+        }
+
+        switch (level) {
+            case DEBUG -> runContext.logger().debug(FORMAT, (Object[]) args);
+            case INFO -> runContext.logger().info(FORMAT, (Object[]) args);
+            case WARN -> runContext.logger().warn(FORMAT, (Object[]) args);
+            default -> runContext.logger().error(FORMAT, (Object[]) args);
+        }
+    }
+
+    /**
+     * Whether the line is a debug log that the task logger would drop anyway, checked on the raw line so that it is
+     * never parsed.
+     */
+    static boolean isDiscarded(RunContext runContext, String line, boolean live) {
+        return !runContext.logger().isDebugEnabled() && isDroppable(line, live);
+    }
+
+    /**
+     * Whether the line is a debug log that can be dropped, checked on the raw line.
+     * <p>
+     * Debug lines are kept when they carry {@code stats}, or a {@code NodeFinished} event needed by the live
+     * taskruns.
+     */
+    static boolean isDroppable(String line, boolean live) {
+        return isDebugOnly(line) && !line.contains("\"stats\"") && !(live && line.contains("NodeFinished"));
+    }
+
+    /**
+     * Whether every {@code "level"} key of the line has the {@code "debug"} value, so that a {@code level} key from
+     * the event data can't hide the actual level of the line.
+     */
+    static boolean isDebugOnly(String line) {
+        boolean found = false;
+
+        for (int index = line.indexOf(LEVEL_KEY); index >= 0; index = line.indexOf(LEVEL_KEY, index + 1)) {
+            int value = skipWhitespaces(line, index + LEVEL_KEY.length());
+            if (value >= line.length() || line.charAt(value) != ':') {
+                // a string value or a text containing "level", not a key
+                continue;
+            }
+
+            value = skipWhitespaces(line, value + 1);
+            if (!line.startsWith(DEBUG_VALUE, value)) {
+                return false;
+            }
+            found = true;
+        }
+
+        return found;
+    }
+
+    private static int skipWhitespaces(String line, int index) {
+        while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * The {@code info} object of the dbt >= 1.5 structured logs, which takes precedence over the top-level fields.
+     */
+    private static void readInfo(JsonParser parser, LogLine log) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Invalid dbt log, `info` is not an object");
+        }
+
+        LogLine info = new LogLine();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "level" -> info.level = text(parser);
+                case "ts" -> info.ts = text(parser);
+                case "thread" -> info.thread = text(parser);
+                case "name" -> info.type = text(parser);
+                case "msg" -> info.msg = text(parser);
+                default -> {
+                    if (INFO_EXCLUDED.contains(field)) {
+                        parser.skipChildren();
+                    } else {
+                        if (info.additional == null) {
+                            info.additional = new HashMap<>();
+                        }
+                        info.additional.put(field, MAPPER.readValue(parser, Object.class));
+                    }
+                }
+            }
+        }
+
+        log.info = info;
+    }
+
+    /**
+     * Emit the {@code stats} counters of the {@code data} object.
+     *
+     * @return the {@code node_info.unique_id} of the event, if any
+     */
+    private static String readData(RunContext runContext, JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String uniqueId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            switch (field) {
+                case "stats" -> {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        if (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+                            RunContextEmissions.metric(runContext, Counter.of(name, parser.getIntValue()));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                case "node_info" -> {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        parser.nextToken();
+                        if ("unique_id".equals(name)) {
+                            uniqueId = text(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return uniqueId;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken().isScalarValue()) {
+            return parser.getText();
+        }
+
+        parser.skipChildren();
+        return null;
+    }
+
+    private static class LogLine {
+        private String level;
+        private String ts;
+        private String thread;
+        private String type;
+        private String msg;
+        private HashMap<String, Object> additional;
+        private LogLine info;
+    }
 }
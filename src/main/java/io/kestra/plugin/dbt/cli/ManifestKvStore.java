@@ -0,0 +1,463 @@
+package io.kestra.plugin.dbt.cli;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.commons.io.input.TeeInputStream;
+
+import io.kestra.core.exceptions.ResourceExpiredException;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVEntry;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.dbt.ParallelTasks;
+import io.kestra.plugin.dbt.ResultParser;
+import io.kestra.plugin.dbt.RunContextEmissions;
+import io.kestra.plugin.dbt.models.ManifestIndex;
+
+/**
+ * Persists {@code manifest.json} to the KV store for {@code storeManifest} and restores it for {@code loadManifest}.
+ * <p>
+ * A {@link DbtCLI.ManifestFormat#JSON} manifest is stored as a JSON object, a {@link DbtCLI.ManifestFormat#RAW} one
+ * as the file content itself. With {@link DbtCLI.ManifestCompression#GZIP}, the file content is streamed through gzip
+ * and stored as a Base64 string. Loading detects the format from the stored value, so it works whatever the settings
+ * used to store it.
+ * <p>
+ * The SHA-256 of the manifest file, computed from the read done to store it, is kept along with the storage settings
+ * in a {@code <key>.sha256} entry: when a run produces the same manifest again, the KV write is skipped altogether, as
+ * long as the entry under the manifest key is still there.
+ * <p>
+ * When a chunk size is set, a manifest whose stored payload would be larger is encoded in Base64, after compression
+ * if any, and split into parts of at most that many characters stored under their own keys, written and read in
+ * parallel; the entry under the manifest key becomes an index listing them. Parts are stored under new keys on every
+ * write and the index is only written once all of them are, so a reader sees either the previous manifest or the new
+ * one, never a mix of both. The parts replaced are only deleted by the next write, so that a reader that got the
+ * previous index can still read them.
+ */
+class ManifestKvStore {
+    // Base64 of the gzip magic number and deflate method (1f 8b 08): can't be the start of a JSON document
+    private static final String GZIP_BASE64_PREFIX = "H4sI";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String FINGERPRINT_SUFFIX = ".sha256";
+
+    private static final String RETIRED_SUFFIX = ".retired";
+
+    private static final String PARTS_FIELD = "dbtManifestParts";
+
+    private static final String COMPRESSION_FIELD = "compression";
+
+    private static final int PARALLELISM = 8;
+
+    /**
+     * Store the manifest and parse it, reading the file only once.
+     *
+     * @param parsed the manifest if it was already parsed, e.g. to emit the nodes live, in which case it isn't again
+     */
+    static ManifestIndex store(
+        RunContext runContext,
+        KVStore kvStore,
+        String key,
+        DbtCLI.ManifestFormat format,
+        DbtCLI.ManifestCompression compression,
+        Integer chunkSize,
+        File manifestFile,
+        ManifestIndex parsed
+    ) throws IOException {
+        return write(runContext, kvStore, key, format, compression, chunkSize, manifestFile, parsed).emit(runContext);
+    }
+
+    /**
+     * Same as {@link #store} without emitting the metrics of the write, which are returned along with the manifest: the
+     * write can then run concurrently with the other post-run steps, the metrics being emitted by the calling thread.
+     */
+    static Stored write(
+        RunContext runContext,
+        KVStore kvStore,
+        String key,
+        DbtCLI.ManifestFormat format,
+        DbtCLI.ManifestCompression compression,
+        Integer chunkSize,
+        File manifestFile,
+        ManifestIndex parsed
+    ) throws IOException {
+        if (chunkSize != null && chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid manifest chunk size " + chunkSize + ", it must be greater than 0");
+        }
+
+        long start = System.nanoTime();
+        List<AbstractMetricEntry<?>> metrics = new ArrayList<>();
+        Path path = manifestFile.toPath();
+        String storedFingerprint = storedFingerprint(kvStore, key);
+
+        // the fingerprint is stored apart, the description and expiry of the entry belong to the user
+        Optional<KVEntry> entry = kvStore.get(key);
+        KVMetadata metadata = new KVMetadata(
+            entry.map(KVEntry::description).orElse(null),
+            entry.map(KVEntry::expirationDate).filter(expiration -> expiration.isAfter(Instant.now())).orElse(null)
+        );
+        List<String> replacedParts = parts(kvStore, key);
+        List<String> retiredParts = retiredParts(kvStore, key);
+
+        ManifestIndex manifest;
+        String fingerprint;
+        if (compression == DbtCLI.ManifestCompression.GZIP) {
+            Compressed compressed = compress(path, parsed == null);
+            manifest = parsed == null ? compressed.manifest() : parsed;
+            fingerprint = fingerprint(compressed.sha256(), format, compression, chunkSize);
+            if (fingerprint.equals(storedFingerprint) && isStillStored(entry, replacedParts, chunkSize != null && compressed.payload().length() > chunkSize)) {
+                return skipped(runContext, key, manifest, start, metrics);
+            }
+
+            // the limit applies to what is stored: the Base64 of the compressed manifest
+            if (chunkSize != null && compressed.payload().length() > chunkSize) {
+                storeParts(metrics, kvStore, key, metadata, compression, compressed.payload(), chunkSize);
+            } else {
+                kvStore.put(key, new KVValueAndMetadata(metadata, compressed.payload()));
+            }
+            metrics.add(Counter.of("manifest.store.compressed.size", compressed.payload().length()));
+        } else {
+            byte[] content = read(path);
+            fingerprint = fingerprint(sha256().digest(content), format, compression, chunkSize);
+            if (fingerprint.equals(storedFingerprint) && isStillStored(entry, replacedParts, chunkSize != null && content.length > chunkSize)) {
+                return skipped(runContext, key, parsed == null ? ResultParser.parseManifest(content) : parsed, start, metrics);
+            }
+
+            if (chunkSize != null && content.length > chunkSize) {
+                storeParts(metrics, kvStore, key, metadata, compression, Base64.getEncoder().encodeToString(content), chunkSize);
+                manifest = parsed == null ? ResultParser.parseManifest(content) : parsed;
+            } else if (format == DbtCLI.ManifestFormat.RAW) {
+                kvStore.put(key, new KVValueAndMetadata(metadata, new String(content, StandardCharsets.UTF_8)));
+                manifest = parsed == null ? ResultParser.parseManifest(content) : parsed;
+            } else {
+                Map<String, Object> value = JacksonMapper.ofJson().readValue(content, JacksonMapper.MAP_TYPE_REFERENCE);
+                kvStore.put(key, new KVValueAndMetadata(metadata, value));
+                manifest = parsed == null ? ResultParser.parseManifest(value) : parsed;
+            }
+        }
+
+        // written last: a failed store is never mistaken for an unchanged manifest
+        kvStore.put(key + FINGERPRINT_SUFFIX, new KVValueAndMetadata(null, fingerprint));
+
+        // the parts just replaced may still be read by a load that got the previous index: they are only retired, and
+        // deleted by the next store, along with the parts it replaces itself
+        if (!replacedParts.isEmpty() || !retiredParts.isEmpty()) {
+            kvStore.put(key + RETIRED_SUFFIX, new KVValueAndMetadata(null, replacedParts));
+        }
+        for (String part : retiredParts) {
+            try {
+                kvStore.delete(part);
+            } catch (IOException e) {
+                runContext.logger().warn("Unable to delete the part '{}' of a previous manifest: {}", part, e.getMessage());
+            }
+        }
+
+        metrics.add(Counter.of("manifest.store.size", manifestFile.length()));
+        metrics.add(Timer.of("manifest.store.duration", Duration.ofNanos(System.nanoTime() - start)));
+
+        return new Stored(manifest, metrics);
+    }
+
+    /**
+     * Write the stored manifest to {@code manifestPath}.
+     *
+     * @return false when there is no manifest under this key
+     */
+    static boolean load(RunContext runContext, KVStore kvStore, String key, Path manifestPath) throws IOException, ResourceExpiredException {
+        long start = System.nanoTime();
+
+        Object value = kvStore.getValue(key).map(KVValue::value).orElse(null);
+        if (isEmpty(value)) {
+            return false;
+        }
+
+        Files.createDirectories(manifestPath.getParent());
+
+        if (value instanceof Map<?, ?> index && index.get(PARTS_FIELD) instanceof List<?> parts) {
+            loadParts(runContext, kvStore, key, parts, DbtCLI.ManifestCompression.valueOf(index.get(COMPRESSION_FIELD).toString()), manifestPath);
+        } else if (value instanceof String compressed && compressed.startsWith(GZIP_BASE64_PREFIX)) {
+            // decompressed on the fly, the uncompressed manifest is never held in memory
+            try (InputStream input = new GZIPInputStream(Base64.getDecoder().wrap(new ByteArrayInputStream(compressed.getBytes(StandardCharsets.ISO_8859_1))), BUFFER_SIZE)) {
+                Files.copy(input, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            RunContextEmissions.metric(runContext, Counter.of("manifest.load.compressed.size", compressed.length()));
+        } else {
+            // a raw manifest is written as-is, a JSON one has to be serialized back
+            write(
+                manifestPath,
+                value instanceof String raw ? raw.getBytes(StandardCharsets.UTF_8) : JacksonMapper.ofJson().writeValueAsBytes(value)
+            );
+        }
+
+        RunContextEmissions.metric(runContext, Counter.of("manifest.load.size", Files.size(manifestPath)));
+        RunContextEmissions.metric(runContext, Timer.of("manifest.load.duration", Duration.ofNanos(System.nanoTime() - start)));
+
+        return true;
+    }
+
+    /**
+     * Checked on the value as stored, a JSON manifest is never serialized back to a string for that.
+     */
+    private static boolean isEmpty(Object value) {
+        return value == null ||
+            (value instanceof Map<?, ?> map && map.isEmpty()) ||
+            (value instanceof String string && string.isBlank());
+    }
+
+    private static void storeParts(
+        List<AbstractMetricEntry<?>> metrics,
+        KVStore kvStore,
+        String key,
+        KVMetadata metadata,
+        DbtCLI.ManifestCompression compression,
+        String payload,
+        int chunkSize
+    ) throws IOException {
+        // a new generation on each write: the parts of the manifest currently indexed are never overwritten
+        String generation = IdUtils.create();
+        int count = (payload.length() + chunkSize - 1) / chunkSize;
+
+        List<String> parts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            parts.add(key + ".part-" + generation + "-" + i);
+        }
+
+        parallel(count, i -> {
+            int from = i * chunkSize;
+            kvStore.put(parts.get(i), new KVValueAndMetadata(null, payload.substring(from, Math.min(payload.length(), from + chunkSize))));
+            return null;
+        });
+
+        // the switch-over: the index is only written once every part is
+        kvStore.put(key, new KVValueAndMetadata(metadata, Map.of(
+            PARTS_FIELD, parts,
+            COMPRESSION_FIELD, compression.name()
+        )));
+
+        metrics.add(Counter.of("manifest.store.parts", count));
+    }
+
+    private static void loadParts(
+        RunContext runContext,
+        KVStore kvStore,
+        String key,
+        List<?> parts,
+        DbtCLI.ManifestCompression compression,
+        Path manifestPath
+    ) throws IOException {
+        List<InputStream> chunks = parallel(parts.size(), i -> {
+            String part = parts.get(i).toString();
+            Object chunk = kvStore.getValue(part)
+                .map(KVValue::value)
+                .orElseThrow(() -> new IOException("Missing part '" + part + "' of the manifest stored under '" + key + "'"));
+
+            return new ByteArrayInputStream(chunk.toString().getBytes(StandardCharsets.ISO_8859_1));
+        });
+
+        // the parts are slices of a single Base64 payload, decoded as a whole
+        InputStream payload = Base64.getDecoder().wrap(new SequenceInputStream(Collections.enumeration(chunks)));
+        try (InputStream input = compression == DbtCLI.ManifestCompression.GZIP ? new GZIPInputStream(payload, BUFFER_SIZE) : payload) {
+            Files.copy(input, manifestPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        RunContextEmissions.metric(runContext, Counter.of("manifest.load.parts", parts.size()));
+    }
+
+    /**
+     * @return the parts of the manifests replaced by the last store, to be deleted by the next one
+     */
+    private static List<String> retiredParts(KVStore kvStore, String key) throws IOException {
+        try {
+            return kvStore.getValue(key + RETIRED_SUFFIX)
+                .map(KVValue::value)
+                .filter(List.class::isInstance)
+                .map(value -> ((List<?>) value).stream().map(Object::toString).toList())
+                .orElse(List.of());
+        } catch (ResourceExpiredException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * @return the parts listed by the index stored under the key, if it's a chunked manifest
+     */
+    private static List<String> parts(KVStore kvStore, String key) throws IOException {
+        Optional<KVValue> value;
+        try {
+            value = kvStore.getValue(key);
+        } catch (ResourceExpiredException e) {
+            return List.of();
+        }
+
+        if (value.isPresent() && value.get().value() instanceof Map<?, ?> index && index.get(PARTS_FIELD) instanceof List<?> parts) {
+            return parts.stream().map(Object::toString).toList();
+        }
+
+        return List.of();
+    }
+
+    /**
+     * Run {@code count} transfers on virtual threads, at most {@link #PARALLELISM} at a time, returning their results
+     * in order.
+     */
+    private static <T> List<T> parallel(int count, ParallelTasks.IndexedTask<T> task) throws IOException {
+        try {
+            return ParallelTasks.map(count, PARALLELISM, task);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while transferring the manifest parts", e);
+        } catch (Exception e) {
+            throw new IOException("Unable to transfer the manifest parts", e);
+        }
+    }
+
+    private static Stored skipped(RunContext runContext, String key, ManifestIndex manifest, long start, List<AbstractMetricEntry<?>> metrics) {
+        runContext.logger().debug("Manifest unchanged since it was stored under '{}', skipping the KV store write", key);
+        metrics.add(Counter.of("manifest.store.skipped", 1));
+        metrics.add(Timer.of("manifest.store.duration", Duration.ofNanos(System.nanoTime() - start)));
+
+        return new Stored(manifest, metrics);
+    }
+
+    /**
+     * A manifest written to the KV store, or found unchanged there, along with the metrics of the write.
+     */
+    record Stored(ManifestIndex manifest, List<AbstractMetricEntry<?>> metrics) {
+        ManifestIndex emit(RunContext runContext) {
+            metrics.forEach(metric -> RunContextEmissions.metric(runContext, metric));
+            return manifest;
+        }
+    }
+
+    /**
+     * Whether the manifest written along with the stored fingerprint is still there: the entry may have been deleted,
+     * expired or overwritten since, which the fingerprint alone doesn't tell.
+     *
+     * @param chunked whether the manifest would be stored as parts, the entry then having to be their index
+     */
+    private static boolean isStillStored(Optional<KVEntry> entry, List<String> parts, boolean chunked) {
+        boolean present = entry
+            .filter(value -> value.expirationDate() == null || value.expirationDate().isAfter(Instant.now()))
+            .isPresent();
+
+        return present && chunked != parts.isEmpty();
+    }
+
+    /**
+     * @return the fingerprint of the manifest stored under the key, null if none
+     */
+    private static String storedFingerprint(KVStore kvStore, String key) throws IOException {
+        try {
+            return kvStore.getValue(key + FINGERPRINT_SUFFIX).map(KVValue::value).map(Object::toString).orElse(null);
+        } catch (ResourceExpiredException e) {
+            return null;
+        }
+    }
+
+    /**
+     * SHA-256 of the file along with the settings used to store it: changing the format, the compression or the chunk
+     * size must rewrite the entry even if the manifest is unchanged.
+     */
+    private static String fingerprint(byte[] sha256, DbtCLI.ManifestFormat format, DbtCLI.ManifestCompression compression, Integer chunkSize) {
+        return "sha256:" + HexFormat.of().formatHex(sha256) + " format:" + format + " compression:" + compression + " chunk:" + chunkSize;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The file content gzipped and encoded in Base64: it is streamed from the file into a single buffer, so that the
+     * encoded payload is the only copy held in memory, and the manifest is hashed and, if asked, parsed along the way.
+     */
+    private static Compressed compress(Path path, boolean parse) throws IOException {
+        long estimate = Files.size(path) / 8 / 3 * 4 + 4;
+        ByteArrayOutputStream payload = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE - 8, Math.max(BUFFER_SIZE, estimate)));
+
+        MessageDigest digest = sha256();
+        ManifestIndex manifest = null;
+        try (
+            OutputStream base64 = Base64.getEncoder().wrap(payload);
+            OutputStream output = new GZIPOutputStream(base64, BUFFER_SIZE);
+            InputStream input = new TeeInputStream(new BufferedInputStream(new DigestInputStream(Files.newInputStream(path), digest), BUFFER_SIZE), output)
+        ) {
+            if (parse) {
+                manifest = ResultParser.parseManifest(CloseShieldInputStream.wrap(input));
+            }
+            // the parser stops at the end of the manifest object, the rest of the file must be copied too
+            input.transferTo(OutputStream.nullOutputStream());
+        }
+
+        return new Compressed(payload.toString(StandardCharsets.ISO_8859_1), manifest, digest.digest());
+    }
+
+    private record Compressed(String payload, ManifestIndex manifest, byte[] sha256) {
+    }
+
+    private static byte[] read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("dbt manifest '" + path + "' is too large to be stored: " + size + " bytes");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read until the buffer is full or the end of the file
+            }
+            return buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position()) : buffer.array();
+        }
+    }
+
+    private static void write(Path path, byte[] content) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
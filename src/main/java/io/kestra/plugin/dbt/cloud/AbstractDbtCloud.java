@@ -1,8 +1,13 @@
 package io.kestra.plugin.dbt.cloud;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -28,6 +33,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+
 @SuperBuilder
 @ToString
 @EqualsAndHashCode
@@ -70,41 +77,136 @@ public abstract class AbstractDbtCloud extends Task {
     @Builder.Default
     Property<Long> initialDelayMs = Property.ofValue(1000L);
 
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient HttpClient client;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient AbstractDbtCloud clientOwner;
+
     protected <RES> HttpResponse<RES> request(
         RunContext runContext,
         HttpRequest.HttpRequestBuilder requestBuilder,
         Class<RES> responseType) throws HttpClientException, IllegalVariableEvaluationException, IOException {
 
-        var request = requestBuilder
+        var request = this.authenticated(runContext, requestBuilder);
+        var client = this.client(runContext);
+
+        return this.<HttpResponse<RES>>retry(runContext).run(
+            (res, throwable) -> isRetriableTransientError(throwable),
+            () ->
+            {
+                var response = client.request(request, String.class);
+                var parsedResponse = MAPPER.readValue(response.getBody(), responseType);
+                return HttpResponse.<RES> builder()
+                    .request(request)
+                    .body(parsedResponse)
+                    .headers(response.getHeaders())
+                    .status(response.getStatus())
+                    .build();
+            }
+        );
+    }
+
+    /**
+     * Same as {@link #request(RunContext, HttpRequest.HttpRequestBuilder, Class)}, streaming the response body to
+     * {@code target} instead of reading it in memory, e.g. for the artifacts of a run that can weigh hundreds of
+     * megabytes. The file is written again by each retry, and only for a 2xx response: an error response fails with
+     * a {@link HttpClientResponseException} like {@link #request} does, the file being left untouched.
+     */
+    protected void download(
+        RunContext runContext,
+        HttpRequest.HttpRequestBuilder requestBuilder,
+        Path target) throws HttpClientException, IllegalVariableEvaluationException, IOException {
+
+        var request = this.authenticated(runContext, requestBuilder);
+        var client = this.client(runContext);
+
+        this.<Void>retry(runContext).run(
+            (res, throwable) -> isRetriableTransientError(throwable),
+            () ->
+            {
+                AtomicReference<HttpResponse<String>> error = new AtomicReference<>();
+                client.request(request, throwConsumer(response -> {
+                    try (InputStream body = response.getBody()) {
+                        // the body of an error, e.g. "Not Found", must never end up in the target file
+                        if (response.getStatus().getCode() / 100 != 2) {
+                            error.set(HttpResponse.<String> builder()
+                                .request(request)
+                                .headers(response.getHeaders())
+                                .status(response.getStatus())
+                                .build()
+                            );
+                            return;
+                        }
+
+                        Files.copy(body, target, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }));
+
+                if (error.get() != null) {
+                    throw new HttpClientResponseException(
+                        "Failed to download " + request.getUri() + ": HTTP " + error.get().getStatus().getCode(),
+                        error.get()
+                    );
+                }
+                return null;
+            }
+        );
+    }
+
+    private HttpRequest authenticated(RunContext runContext, HttpRequest.HttpRequestBuilder requestBuilder) throws IllegalVariableEvaluationException {
+        return requestBuilder
             .addHeader("Authorization", "Bearer " + runContext.render(this.token).as(String.class).orElseThrow())
             .addHeader("Content-Type", "application/json")
             .build();
+    }
 
+    private <RES> RetryUtils.Instance<RES, HttpClientException> retry(RunContext runContext) throws IllegalVariableEvaluationException {
         var rMaxRetries = runContext.render(this.maxRetries).as(Integer.class).orElse(3);
         var rInitialDelay = runContext.render(this.initialDelayMs).as(Long.class).orElse(1000L);
 
-        try (var client = new HttpClient(runContext, options)) {
-            return RetryUtils.<HttpResponse<RES>, HttpClientException> of(
-                Exponential.builder()
-                    .delayFactor(2.0)
-                    .interval(Duration.ofMillis(rInitialDelay))
-                    .maxInterval(Duration.ofSeconds(30))
-                    .maxAttempts(rMaxRetries)
-                    .build()
-            ).run(
-                (res, throwable) -> isRetriableTransientError(throwable),
-                () ->
-                {
-                    var response = client.request(request, String.class);
-                    var parsedResponse = MAPPER.readValue(response.getBody(), responseType);
-                    return HttpResponse.<RES> builder()
-                        .request(request)
-                        .body(parsedResponse)
-                        .headers(response.getHeaders())
-                        .status(response.getStatus())
-                        .build();
-                }
-            );
+        return RetryUtils.of(
+            Exponential.builder()
+                .delayFactor(2.0)
+                .interval(Duration.ofMillis(rInitialDelay))
+                .maxInterval(Duration.ofSeconds(30))
+                .maxAttempts(rMaxRetries)
+                .build()
+        );
+    }
+
+    /**
+     * The HTTP client shared by all the calls of the task, so that the connections to dbt Cloud are kept alive
+     * between the polls instead of being opened again for each call.
+     */
+    private synchronized HttpClient client(RunContext runContext) throws IllegalVariableEvaluationException {
+        if (this.clientOwner != null) {
+            return this.clientOwner.client(runContext);
+        }
+
+        if (this.client == null) {
+            this.client = new HttpClient(runContext, options);
+        }
+
+        return this.client;
+    }
+
+    /**
+     * Make the calls of this task go through the HTTP client of {@code owner}, which remains the one closing it.
+     */
+    synchronized void useClientOf(AbstractDbtCloud owner) {
+        this.clientOwner = owner;
+    }
+
+    /**
+     * Close the HTTP client shared by the calls of the task, to be called once the task is done.
+     */
+    protected synchronized void closeClient() throws IOException {
+        if (this.client != null) {
+            this.client.close();
+            this.client = null;
         }
     }
 
@@ -0,0 +1,95 @@
+package io.kestra.plugin.dbt.cloud;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.kestra.plugin.dbt.cloud.models.JobStatus;
+import io.kestra.plugin.dbt.cloud.models.Run;
+import io.kestra.plugin.dbt.cloud.models.Step;
+
+/**
+ * Computes the delay before the next status check of a dbt Cloud run, for {@link CheckStatus.PollStrategy#ADAPTIVE}.
+ * <p>
+ * The delay starts at the minimum interval and doubles after each poll where the run made no progress (same status,
+ * same steps started and finished), up to the maximum interval; any progress brings it back to the minimum. When the
+ * expected duration of the run is known, polls are fast around its expected end and never wait past it. A ±20%
+ * jitter spreads the polls of the monitors started together.
+ */
+final class AdaptivePoll {
+    private static final double JITTER = 0.2;
+
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final Duration expectedDuration;
+
+    private Duration interval;
+    private Progress lastProgress;
+
+    /**
+     * @param expectedDuration the usual duration of the run, or null if unknown
+     */
+    AdaptivePoll(Duration minInterval, Duration maxInterval, Duration expectedDuration) {
+        this.minInterval = minInterval;
+        this.maxInterval = maxInterval.compareTo(minInterval) < 0 ? minInterval : maxInterval;
+        this.expectedDuration = expectedDuration;
+        this.interval = minInterval;
+    }
+
+    /**
+     * @param run the run as of the last poll, null if the poll returned nothing
+     */
+    Duration next(Run run, Instant now) {
+        Progress progress = Progress.of(run);
+        if (lastProgress != null && lastProgress.equals(progress)) {
+            interval = min(interval.multipliedBy(2), maxInterval);
+        } else {
+            interval = minInterval;
+        }
+        lastProgress = progress;
+
+        Duration delay = interval;
+        if (expectedDuration != null && run != null && run.getStartedAt() != null) {
+            Duration untilExpectedEnd = Duration.between(now, run.getStartedAt().toInstant().plus(expectedDuration));
+
+            if (untilExpectedEnd.compareTo(delay) <= 0 && untilExpectedEnd.compareTo(maxInterval.negated()) >= 0) {
+                // around the expected end
+                delay = minInterval;
+            } else if (!untilExpectedEnd.isNegative()) {
+                delay = max(min(delay, untilExpectedEnd.dividedBy(2)), minInterval);
+            }
+        }
+
+        return jitter(delay);
+    }
+
+    private Duration jitter(Duration delay) {
+        double factor = 1 - JITTER + 2 * JITTER * ThreadLocalRandom.current().nextDouble();
+        return max(Duration.ofMillis((long) (delay.toMillis() * factor)), minInterval);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private record Progress(JobStatus status, int steps, long finishedSteps) {
+        static Progress of(Run run) {
+            if (run == null) {
+                return new Progress(null, 0, 0);
+            }
+
+            List<Step> steps = Objects.requireNonNullElse(run.getRunSteps(), List.of());
+            return new Progress(
+                run.getStatus(),
+                steps.size(),
+                steps.stream().filter(step -> step.getFinishedAt() != null).count()
+            );
+        }
+    }
+}
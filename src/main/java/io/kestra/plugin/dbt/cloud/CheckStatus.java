@@ -6,9 +6,14 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 
@@ -17,20 +22,21 @@ import io.kestra.core.http.HttpRequest;
 import io.kestra.core.http.client.HttpClientException;
 import io.kestra.core.http.client.HttpClientResponseException;
 import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.utils.Await;
+import io.kestra.plugin.dbt.ParallelTasks;
 import io.kestra.plugin.dbt.ResultParser;
 import io.kestra.plugin.dbt.cloud.models.JobStatus;
 import io.kestra.plugin.dbt.cloud.models.JobStatusHumanizedEnum;
-import io.kestra.plugin.dbt.cloud.models.ManifestArtifact;
 import io.kestra.plugin.dbt.cloud.models.Run;
 import io.kestra.plugin.dbt.cloud.models.RunResponse;
 import io.kestra.plugin.dbt.cloud.models.Step;
-import io.kestra.plugin.dbt.models.RunResult;
+import io.kestra.plugin.dbt.models.ManifestIndex;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -38,7 +44,6 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 import static io.kestra.core.utils.Rethrow.throwSupplier;
-import static java.lang.Math.max;
 import io.kestra.core.models.annotations.PluginProperty;
 
 @SuperBuilder
@@ -66,6 +71,14 @@ import io.kestra.core.models.annotations.PluginProperty;
                     runId: "run_id"
                 """
         )
+    },
+    metrics = {
+        @Metric(
+            name = "poll.count",
+            type = Counter.TYPE,
+            unit = "requests",
+            description = "The number of status checks of the dbt Cloud run."
+        )
     }
 )
 public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckStatus.Output> {
@@ -75,6 +88,10 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
         JobStatus.NUMBER_30   // Cancelled
     );
 
+    private static final String RUN_RESULTS_ARTIFACT = "run_results.json";
+    private static final String MANIFEST_ARTIFACT = "manifest.json";
+    private static final int MAX_PARALLEL_DOWNLOADS = 4;
+
     @Schema(
         title = "Run ID",
         description = "dbt Cloud run identifier to monitor."
@@ -96,6 +113,26 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
     @Builder.Default
     Property<Duration> maxDuration = Property.ofValue(Duration.ofMinutes(60));
 
+    @Schema(
+        title = "Poll strategy",
+        description = "FIXED (default) checks the status every `pollFrequency`. ADAPTIVE starts at `pollFrequency` and doubles the interval, with jitter, up to `maxPollInterval` while the run makes no progress; it goes back to `pollFrequency` when the status changes or a step starts or finishes, and around the `expectedDuration` of the run. The number of checks is exposed in the `poll.count` metric."
+    )
+    @Builder.Default
+    Property<PollStrategy> pollStrategy = Property.ofValue(PollStrategy.FIXED);
+
+    @Schema(
+        title = "Maximum poll interval",
+        description = "Only used with the ADAPTIVE `pollStrategy`. Default 1m."
+    )
+    @Builder.Default
+    Property<Duration> maxPollInterval = Property.ofValue(Duration.ofMinutes(1));
+
+    @Schema(
+        title = "Expected run duration",
+        description = "Only used with the ADAPTIVE `pollStrategy`: the usual duration of the job runs, e.g. from their history, so that the status is checked often around the expected end of the run instead of after a long backoff."
+    )
+    Property<Duration> expectedDuration;
+
     @Builder.Default
     @Schema(
         title = "Parse run results",
@@ -104,6 +141,13 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
     @PluginProperty(group = "advanced")
     protected Property<Boolean> parseRunResults = Property.ofValue(Boolean.TRUE);
 
+    @Schema(
+        title = "Additional artifacts",
+        description = "Other artifacts of the run to download along with `run_results.json` and `manifest.json`, e.g. `catalog.json` or `sources.json`; they are exposed in the `artifacts` output, the missing ones being skipped."
+    )
+    @PluginProperty(group = "advanced")
+    Property<List<String>> additionalArtifacts;
+
     @Builder.Default
     @Getter(AccessLevel.NONE)
     private transient List<JobStatusHumanizedEnum> loggedStatus = new ArrayList<>();
@@ -114,38 +158,72 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
 
     @Override
     public CheckStatus.Output run(RunContext runContext) throws Exception {
+        try {
+            return this.check(runContext);
+        } finally {
+            this.closeClient();
+        }
+    }
+
+    /**
+     * The body of {@link #run(RunContext)}, leaving the HTTP client open, e.g. for {@link TriggerRun} that owns it.
+     */
+    CheckStatus.Output check(RunContext runContext) throws Exception {
         Logger logger = runContext.logger();
 
         // Check rendered runId provided is an Integer
         Long runIdRendered = Long.parseLong(runContext.render(this.runId).as(String.class).orElseThrow());
 
-        // wait for end
-        RunResponse finalRunResponse = Await.until(
-            throwSupplier(() ->
-            {
-                Optional<RunResponse> fetchRunResponse = fetchRunResponse(
-                    runContext,
-                    runIdRendered,
-                    false
-                );
+        Duration rPollFrequency = runContext.render(this.pollFrequency).as(Duration.class).orElseThrow();
+        Duration rMaxDuration = runContext.render(this.maxDuration).as(Duration.class).orElseThrow();
+        PollStrategy rPollStrategy = runContext.render(this.pollStrategy).as(PollStrategy.class).orElse(PollStrategy.FIXED);
 
-                if (fetchRunResponse.isPresent()) {
-                    logSteps(logger, fetchRunResponse.get());
+        AtomicInteger pollCount = new AtomicInteger();
+        AtomicReference<Run> lastRun = new AtomicReference<>();
 
-                    var data = fetchRunResponse.get().getData();
+        Supplier<RunResponse> poll = throwSupplier(() ->
+        {
+            pollCount.incrementAndGet();
+            lastRun.set(null);
 
-                    if (data.getStatus() == null && data.getIsComplete() == null && data.getStatusHumanized() == null) {
-                        logger.warn("Received response with no status indicator from dbt Cloud — skipping this poll cycle");
-                    } else if (isEnded(data)) {
-                        return fetchRunResponse.get();
-                    }
+            Optional<RunResponse> fetchRunResponse = fetchRunResponse(
+                runContext,
+                runIdRendered,
+                false
+            );
+
+            if (fetchRunResponse.isPresent()) {
+                logSteps(logger, fetchRunResponse.get(), false);
+
+                var data = fetchRunResponse.get().getData();
+                lastRun.set(data);
+
+                if (data.getStatus() == null && data.getIsComplete() == null && data.getStatusHumanized() == null) {
+                    logger.warn("Received response with no status indicator from dbt Cloud — skipping this poll cycle");
+                } else if (isEnded(data)) {
+                    return fetchRunResponse.get();
                 }
+            }
 
-                return null;
-            }),
-            runContext.render(this.pollFrequency).as(Duration.class).orElseThrow(),
-            runContext.render(this.maxDuration).as(Duration.class).orElseThrow()
-        );
+            return null;
+        });
+
+        // wait for end
+        RunResponse finalRunResponse;
+        try {
+            if (rPollStrategy == PollStrategy.ADAPTIVE) {
+                AdaptivePoll adaptivePoll = new AdaptivePoll(
+                    rPollFrequency,
+                    runContext.render(this.maxPollInterval).as(Duration.class).orElse(Duration.ofMinutes(1)),
+                    runContext.render(this.expectedDuration).as(Duration.class).orElse(null)
+                );
+                finalRunResponse = pollAdaptively(poll, () -> adaptivePoll.next(lastRun.get(), Instant.now()), rMaxDuration);
+            } else {
+                finalRunResponse = Await.until(poll, rPollFrequency, rMaxDuration);
+            }
+        } finally {
+            runContext.metric(Counter.of("poll.count", pollCount.get()));
+        }
 
         // Best-effort debug=true fetch for fuller step logs; truncated_debug_logs population timing
         // isn't part of dbt Cloud's terminal-run contract, so a failure here must not fail the run.
@@ -159,7 +237,7 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
         }
 
         // final response
-        logSteps(logger, finalRunResponse);
+        logSteps(logger, finalRunResponse, true);
 
         if (!isSuccessful(finalRunResponse.getData())) {
             throw new Exception(
@@ -175,10 +253,17 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
         // Artifacts are uploaded asynchronously by dbt Cloud and manifest.json is absent for some
         // run shapes (e.g. dbt source freshness). Tolerate 404 so a legitimate success is not
         // reported as a failure.
-        Path runResultsArtifact = downloadArtifacts(runContext, runIdRendered, "run_results.json", RunResult.class);
-        Path manifestArtifact = downloadArtifacts(runContext, runIdRendered, "manifest.json", ManifestArtifact.class);
+        // They are downloaded concurrently, the additional ones included.
+        List<String> artifactPaths = new ArrayList<>(List.of(RUN_RESULTS_ARTIFACT, MANIFEST_ARTIFACT));
+        runContext.render(this.additionalArtifacts).asList(String.class).stream()
+            .filter(path -> !artifactPaths.contains(path))
+            .forEach(artifactPaths::add);
+
+        Map<String, Path> artifacts = downloadArtifacts(runContext, runIdRendered, artifactPaths);
+        Path runResultsArtifact = artifacts.get(RUN_RESULTS_ARTIFACT);
+        Path manifestArtifact = artifacts.get(MANIFEST_ARTIFACT);
 
-        io.kestra.plugin.dbt.models.Manifest manifest = null;
+        ManifestIndex manifest = null;
         URI manifestUri = null;
         if (manifestArtifact != null) {
             ResultParser.ManifestResult manifestResult = ResultParser.parseManifestWithAssets(runContext, manifestArtifact.toFile());
@@ -196,12 +281,44 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
             }
         }
 
+        Map<String, URI> additionalArtifactUris = new LinkedHashMap<>();
+        for (Map.Entry<String, Path> artifact : artifacts.entrySet()) {
+            if (artifact.getValue() != null && !artifact.getKey().equals(RUN_RESULTS_ARTIFACT) && !artifact.getKey().equals(MANIFEST_ARTIFACT)) {
+                additionalArtifactUris.put(artifact.getKey(), runContext.storage().putFile(artifact.getValue().toFile()));
+            }
+        }
+
         return Output.builder()
             .runResults(runResultsUri)
             .manifest(manifestUri)
+            .artifacts(additionalArtifactUris)
             .build();
     }
 
+    /**
+     * Same as {@link Await#until(Supplier, Duration, Duration)}, waiting for the delay given by {@code nextDelay}
+     * between two polls.
+     */
+    private static RunResponse pollAdaptively(Supplier<RunResponse> poll, Supplier<Duration> nextDelay, Duration maxDuration) throws TimeoutException, InterruptedException {
+        Instant deadline = Instant.now().plus(maxDuration);
+
+        while (true) {
+            RunResponse response = poll.get();
+            if (response != null) {
+                return response;
+            }
+
+            Instant now = Instant.now();
+            if (!now.isBefore(deadline)) {
+                throw new TimeoutException("Run not ended after " + maxDuration);
+            }
+
+            Duration delay = nextDelay.get();
+            Duration untilDeadline = Duration.between(now, deadline);
+            Thread.sleep((delay.compareTo(untilDeadline) < 0 ? delay : untilDeadline).toMillis());
+        }
+    }
+
     // Precedence: integer status → is_complete → status_humanized
     private boolean isEnded(Run data) {
         if (data.getStatus() != null) {
@@ -229,7 +346,7 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
         return JobStatusHumanizedEnum.SUCCESS.equals(data.getStatusHumanized());
     }
 
-    private void logSteps(Logger logger, RunResponse runResponse) {
+    private void logSteps(Logger logger, RunResponse runResponse, boolean last) {
         // status changed
         if (!loggedStatus.contains(runResponse.getData().getStatusHumanized())) {
             logger.debug(
@@ -242,21 +359,38 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
 
         // log steps
         for (Step step : runResponse.getData().getRunSteps()) {
-            if (!step.getLogs().isEmpty()) {
-                if (!loggedSteps.containsKey(step.getId())) {
-                    loggedSteps.put(step.getId(), 0L);
-                }
-
-                if (step.getLogs().length() > loggedSteps.get(step.getId())) {
-                    for (String s : step.getLogs().substring((int) max(loggedSteps.get(step.getId()) - 1L, 0L)).split("\n")) {
-                        logger.info("[Step {}]: {}", step.getName(), s);
-                    }
-                    loggedSteps.put(step.getId(), (long) step.getLogs().length());
-                }
+            if (step.getLogs() != null && !step.getLogs().isEmpty()) {
+                int offset = loggedSteps.getOrDefault(step.getId(), 0L).intValue();
+                int logged = logLines(step.getLogs(), offset, last, line -> logger.info("[Step {}]: {}", step.getName(), line));
+                loggedSteps.put(step.getId(), (long) logged);
             }
         }
     }
 
+    /**
+     * Log the complete lines of {@code logs} from {@code offset}, scanning only the content that was not logged yet:
+     * the API sends the whole step logs on each poll. A trailing line without line break is held back until it is
+     * complete, or logged when {@code flush} is set.
+     *
+     * @return the offset of the first character not logged
+     */
+    static int logLines(String logs, int offset, boolean flush, Consumer<String> consumer) {
+        int start = offset;
+
+        for (int end = logs.indexOf('\n', start); end >= 0; end = logs.indexOf('\n', start)) {
+            int lineEnd = end > start && logs.charAt(end - 1) == '\r' ? end - 1 : end;
+            consumer.accept(logs.substring(start, lineEnd));
+            start = end + 1;
+        }
+
+        if (flush && start < logs.length()) {
+            consumer.accept(logs.substring(start));
+            start = logs.length();
+        }
+
+        return start;
+    }
+
     private Optional<RunResponse> fetchRunResponse(RunContext runContext, Long id, Boolean debug) throws IllegalVariableEvaluationException, HttpClientException, IOException {
         HttpRequest.HttpRequestBuilder requestBuilder = HttpRequest.builder()
             .uri(
@@ -271,13 +405,31 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
     }
 
     /**
-     * Downloads an artifact and writes it to a temp file. Returns null when the artifact is not
+     * Downloads the artifacts concurrently on virtual threads, at most {@link #MAX_PARALLEL_DOWNLOADS} at a time,
+     * failing with the first error and the other ones added as suppressed.
+     *
+     * @return the temp file of each artifact, null when not found
+     */
+    private Map<String, Path> downloadArtifacts(RunContext runContext, Long runId, List<String> paths) throws Exception {
+        List<Path> downloads = ParallelTasks.map(paths.size(), MAX_PARALLEL_DOWNLOADS, i -> downloadArtifact(runContext, runId, paths.get(i)));
+
+        Map<String, Path> artifacts = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            artifacts.put(paths.get(i), downloads.get(i));
+        }
+
+        return artifacts;
+    }
+
+    /**
+     * Downloads an artifact to a temp file, streaming the response body so that it is never held in memory and only
+     * parsed once, by {@link ResultParser}. Returns null when the artifact is not
      * found (404), which is a legitimate outcome for async uploads or run shapes that don't
      * produce every artifact (e.g. manifest.json is absent for dbt source freshness runs).
-     * 5xx errors are still retried by {@link AbstractDbtCloud#request}; other unexpected errors
+     * 5xx errors are still retried by {@link AbstractDbtCloud#download}; other unexpected errors
      * still propagate.
      */
-    private <T> Path downloadArtifacts(RunContext runContext, Long runId, String path, Class<T> responseType)
+    private Path downloadArtifact(RunContext runContext, Long runId, String path)
         throws IllegalVariableEvaluationException, IOException, HttpClientException {
         var requestBuilder = HttpRequest.builder()
             .uri(
@@ -289,23 +441,26 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
             )
             .method("GET");
 
-        T artifact;
+        var tempFile = runContext.workingDir().createTempFile(".json");
         try {
-            artifact = this.request(runContext, requestBuilder, responseType).getBody();
+            this.download(runContext, requestBuilder, tempFile);
         } catch (HttpClientResponseException ex) {
             if (ex.getResponse().getStatus().getCode() == 404) {
                 runContext.logger().debug("Artifact '{}' not found (404) — skipping", path);
+                Files.deleteIfExists(tempFile);
                 return null;
             }
             throw ex;
         }
 
-        var artifactJson = JacksonMapper.ofJson().writeValueAsString(artifact);
-        var tempFile = runContext.workingDir().createTempFile(".json");
-        Files.writeString(tempFile, artifactJson, StandardOpenOption.TRUNCATE_EXISTING);
         return tempFile;
     }
 
+    public enum PollStrategy {
+        FIXED,
+        ADAPTIVE
+    }
+
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
@@ -320,5 +475,11 @@ public class CheckStatus extends AbstractDbtCloud implements RunnableTask<CheckS
             description = "Internal storage URI for the downloaded `manifest.json`, when present."
         )
         private URI manifest;
+
+        @Schema(
+            title = "Additional artifact URIs",
+            description = "Internal storage URI of each downloaded `additionalArtifacts`, by name, when present."
+        )
+        private Map<String, URI> artifacts;
     }
 }
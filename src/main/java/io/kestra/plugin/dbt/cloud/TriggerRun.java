@@ -11,7 +11,9 @@ import org.slf4j.Logger;
 import io.kestra.core.http.HttpRequest;
 import io.kestra.core.http.HttpResponse;
 import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Metric;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
@@ -52,6 +54,14 @@ import io.kestra.core.models.annotations.PluginProperty;
                     jobId: "job_id"
                 """
         )
+    },
+    metrics = {
+        @Metric(
+            name = "poll.count",
+            type = Counter.TYPE,
+            unit = "requests",
+            description = "The number of status checks of the dbt Cloud run, when waiting for it."
+        )
     }
 )
 public class TriggerRun extends AbstractDbtCloud implements RunnableTask<TriggerRun.Output> {
@@ -146,6 +156,26 @@ public class TriggerRun extends AbstractDbtCloud implements RunnableTask<Trigger
     @Builder.Default
     Property<Duration> maxDuration = Property.ofValue(Duration.ofMinutes(60));
 
+    @Schema(
+        title = "Poll strategy",
+        description = "How the status is checked when waiting, see the `pollStrategy` of `CheckStatus`. Default FIXED."
+    )
+    @Builder.Default
+    Property<CheckStatus.PollStrategy> pollStrategy = Property.ofValue(CheckStatus.PollStrategy.FIXED);
+
+    @Schema(
+        title = "Maximum poll interval",
+        description = "Only used with the ADAPTIVE `pollStrategy`. Default 1m."
+    )
+    @Builder.Default
+    Property<Duration> maxPollInterval = Property.ofValue(Duration.ofMinutes(1));
+
+    @Schema(
+        title = "Expected run duration",
+        description = "Only used with the ADAPTIVE `pollStrategy`: the usual duration of the job runs, so that the status is checked often around the expected end of the run."
+    )
+    Property<Duration> expectedDuration;
+
     @Builder.Default
     @Schema(
         title = "Parse run results",
@@ -154,8 +184,23 @@ public class TriggerRun extends AbstractDbtCloud implements RunnableTask<Trigger
     @PluginProperty(group = "advanced")
     protected Property<Boolean> parseRunResults = Property.ofValue(Boolean.TRUE);
 
+    @Schema(
+        title = "Additional artifacts",
+        description = "Other artifacts of the run to download when waiting, see the `additionalArtifacts` of `CheckStatus`; they are exposed in the `artifacts` output."
+    )
+    @PluginProperty(group = "advanced")
+    Property<List<String>> additionalArtifacts;
+
     @Override
     public TriggerRun.Output run(RunContext runContext) throws Exception {
+        try {
+            return this.trigger(runContext);
+        } finally {
+            this.closeClient();
+        }
+    }
+
+    private TriggerRun.Output trigger(RunContext runContext) throws Exception {
         Logger logger = runContext.logger();
 
         // trigger
@@ -212,15 +257,22 @@ public class TriggerRun extends AbstractDbtCloud implements RunnableTask<Trigger
             .accountId(getAccountId())
             .pollFrequency(getPollFrequency())
             .maxDuration(getMaxDuration())
+            .pollStrategy(getPollStrategy())
+            .maxPollInterval(getMaxPollInterval())
+            .expectedDuration(getExpectedDuration())
             .parseRunResults(getParseRunResults())
+            .additionalArtifacts(getAdditionalArtifacts())
             .build();
 
-        CheckStatus.Output runOutput = checkStatusJob.run(runContext);
+        // the status checks go through the client of this task, closed once it's done
+        checkStatusJob.useClientOf(this);
+        CheckStatus.Output runOutput = checkStatusJob.check(runContext);
 
         return Output.builder()
             .runId(runId)
             .runResults(runOutput.getRunResults())
             .manifest(runOutput.getManifest())
+            .artifacts(runOutput.getArtifacts())
             .build();
     }
 
@@ -244,5 +296,11 @@ public class TriggerRun extends AbstractDbtCloud implements RunnableTask<Trigger
             description = "Internal storage URI for `manifest.json`, when available."
         )
         private URI manifest;
+
+        @Schema(
+            title = "Additional artifact URIs",
+            description = "Internal storage URI of each downloaded `additionalArtifacts`, by name, when present."
+        )
+        private Map<String, URI> artifacts;
     }
 }
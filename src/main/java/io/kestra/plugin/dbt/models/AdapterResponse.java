@@ -0,0 +1,218 @@
+package io.kestra.plugin.dbt.models;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * The {@code adapter_response} of a dbt node result.
+ * <p>
+ * The keys used for metrics are kept as primitives, whether the adapter reports them as JSON numbers or strings;
+ * any other key ({@code code}, {@code _message}, {@code job_id}, ...) is kept as-is in a map only allocated when
+ * such a key is present, and serialized back along with the known ones.
+ */
+@JsonDeserialize(using = AdapterResponse.Deserializer.class)
+@JsonSerialize(using = AdapterResponse.Serializer.class)
+public final class AdapterResponse {
+    private static final String ROWS_AFFECTED = "rows_affected";
+    private static final String BYTES_PROCESSED = "bytes_processed";
+    private static final String BYTES_BILLED = "bytes_billed";
+    private static final String SLOT_MS = "slot_ms";
+    private static final String QUERY_ID = "query_id";
+
+    private static final int HAS_ROWS_AFFECTED = 1;
+    private static final int HAS_BYTES_PROCESSED = 1 << 1;
+    private static final int HAS_BYTES_BILLED = 1 << 2;
+    private static final int HAS_SLOT_MS = 1 << 3;
+
+    private int present;
+    private long rowsAffected;
+    private long bytesProcessed;
+    private long bytesBilled;
+    private long slotMs;
+    private String queryId;
+    private Map<String, Object> others;
+
+    /**
+     * Build from an already deserialized {@code adapter_response}, e.g. from a dbt log event.
+     */
+    public static AdapterResponse of(Map<?, ?> values) {
+        AdapterResponse response = new AdapterResponse();
+        if (values != null) {
+            values.forEach((key, value) -> {
+                if (key != null && value != null) {
+                    response.set(key.toString(), value);
+                }
+            });
+        }
+        return response;
+    }
+
+    public boolean hasRowsAffected() {
+        return (present & HAS_ROWS_AFFECTED) != 0;
+    }
+
+    public long getRowsAffected() {
+        return rowsAffected;
+    }
+
+    public boolean hasBytesProcessed() {
+        return (present & HAS_BYTES_PROCESSED) != 0;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed;
+    }
+
+    public boolean hasBytesBilled() {
+        return (present & HAS_BYTES_BILLED) != 0;
+    }
+
+    public long getBytesBilled() {
+        return bytesBilled;
+    }
+
+    public boolean hasSlotMs() {
+        return (present & HAS_SLOT_MS) != 0;
+    }
+
+    public long getSlotMs() {
+        return slotMs;
+    }
+
+    public String getQueryId() {
+        return queryId;
+    }
+
+    /**
+     * @return the keys that are not kept as fields, never null
+     */
+    public Map<String, Object> getOthers() {
+        return others == null ? Map.of() : Collections.unmodifiableMap(others);
+    }
+
+    private void set(String key, Object value) {
+        switch (key) {
+            case ROWS_AFFECTED, BYTES_PROCESSED, BYTES_BILLED, SLOT_MS -> {
+                if (value instanceof Number number) {
+                    setLong(key, number.longValue());
+                    return;
+                }
+
+                try {
+                    setLong(key, (long) Double.parseDouble(value.toString()));
+                } catch (NumberFormatException e) {
+                    other(key, value);
+                }
+            }
+            case QUERY_ID -> queryId = value.toString();
+            default -> other(key, value);
+        }
+    }
+
+    private void setLong(String key, long value) {
+        switch (key) {
+            case ROWS_AFFECTED -> {
+                rowsAffected = value;
+                present |= HAS_ROWS_AFFECTED;
+            }
+            case BYTES_PROCESSED -> {
+                bytesProcessed = value;
+                present |= HAS_BYTES_PROCESSED;
+            }
+            case BYTES_BILLED -> {
+                bytesBilled = value;
+                present |= HAS_BYTES_BILLED;
+            }
+            case SLOT_MS -> {
+                slotMs = value;
+                present |= HAS_SLOT_MS;
+            }
+            default -> throw new IllegalArgumentException("Not a numeric adapter response key: " + key);
+        }
+    }
+
+    private void setNumber(String key, long value, JsonParser parser) throws IOException {
+        switch (key) {
+            case ROWS_AFFECTED, BYTES_PROCESSED, BYTES_BILLED, SLOT_MS -> setLong(key, value);
+            case QUERY_ID -> queryId = parser.getText();
+            default -> other(key, parser.getNumberValue());
+        }
+    }
+
+    private void other(String key, Object value) {
+        if (others == null) {
+            others = new LinkedHashMap<>();
+        }
+        others.put(key, value);
+    }
+
+    public static class Deserializer extends JsonDeserializer<AdapterResponse> {
+        @Override
+        public AdapterResponse deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            AdapterResponse response = new AdapterResponse();
+
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = parser.nextToken();
+            }
+
+            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String key = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (value) {
+                    case VALUE_NULL -> {
+                    }
+                    case VALUE_NUMBER_INT -> response.setNumber(key, parser.getLongValue(), parser);
+                    case VALUE_NUMBER_FLOAT -> response.setNumber(key, (long) parser.getDoubleValue(), parser);
+                    case VALUE_STRING -> response.set(key, parser.getText());
+                    default -> response.other(key, context.readValue(parser, Object.class));
+                }
+            }
+
+            return response;
+        }
+    }
+
+    public static class Serializer extends JsonSerializer<AdapterResponse> {
+        @Override
+        public void serialize(AdapterResponse response, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject();
+
+            if (response.hasRowsAffected()) {
+                generator.writeNumberField(ROWS_AFFECTED, response.rowsAffected);
+            }
+            if (response.hasBytesProcessed()) {
+                generator.writeNumberField(BYTES_PROCESSED, response.bytesProcessed);
+            }
+            if (response.hasBytesBilled()) {
+                generator.writeNumberField(BYTES_BILLED, response.bytesBilled);
+            }
+            if (response.hasSlotMs()) {
+                generator.writeNumberField(SLOT_MS, response.slotMs);
+            }
+            if (response.queryId != null) {
+                generator.writeStringField(QUERY_ID, response.queryId);
+            }
+            if (response.others != null) {
+                for (Map.Entry<String, Object> entry : response.others.entrySet()) {
+                    provider.defaultSerializeField(entry.getKey(), entry.getValue(), generator);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package io.kestra.plugin.dbt.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lean projection of a dbt {@code manifest.json}, only holding what is needed to build model assets.
+ * <p>
+ * Models are addressed by a dense int index; database and schema names are interned so the thousands of models
+ * sharing them do not each keep a copy. Compiled SQL and the raw nodes are never retained.
+ * <p>
+ * The lineage between models is stored as a compressed sparse row graph: the parents of model {@code i} are
+ * {@code parentIndexes[parentOffsets[i] .. parentOffsets[i + 1]]}, and the same goes for its children. Edges to
+ * non-model nodes (sources, seeds, ...) are dropped when the graph is built.
+ */
+public final class ManifestIndex {
+    private static final String[] NO_TAGS = new String[0];
+
+    private static final ManifestIndex EMPTY = new Builder().build();
+
+    private final String adapterType;
+    private final String[] uniqueIds;
+    private final String[] databases;
+    private final String[] schemas;
+    private final String[] names;
+    private final String[][] tags;
+    private final Map<String, Integer> indexes;
+    private final int[] parentOffsets;
+    private final int[] parentIndexes;
+    private final int[] childOffsets;
+    private final int[] childIndexes;
+
+    private ManifestIndex(Builder builder) {
+        int size = builder.uniqueIds.size();
+
+        this.adapterType = builder.adapterType;
+        this.uniqueIds = builder.uniqueIds.toArray(new String[0]);
+        this.databases = builder.databases.toArray(new String[0]);
+        this.schemas = builder.schemas.toArray(new String[0]);
+        this.names = builder.names.toArray(new String[0]);
+        this.tags = builder.tags.toArray(new String[0][]);
+        this.indexes = builder.indexes;
+
+        // parent_map is the canonical DAG, node-level depends_on is the fallback for older manifests
+        this.parentOffsets = new int[size + 1];
+        int[] parents = new int[size];
+        int edges = 0;
+        for (int i = 0; i < size; i++) {
+            List<String> parentIds = builder.parentMap.get(this.uniqueIds[i]);
+            if (parentIds == null) {
+                parentIds = builder.dependsOn.get(i);
+            }
+
+            if (parentIds != null) {
+                for (String parentId : parentIds) {
+                    int parent = this.indexOf(parentId);
+                    if (parent < 0) {
+                        continue;
+                    }
+
+                    if (edges == parents.length) {
+                        parents = Arrays.copyOf(parents, Math.max(16, edges * 2));
+                    }
+                    parents[edges++] = parent;
+                }
+            }
+
+            this.parentOffsets[i + 1] = edges;
+        }
+        this.parentIndexes = Arrays.copyOf(parents, edges);
+
+        // reverse the edges with a counting sort: count the children of each model, then fill their slots
+        this.childOffsets = new int[size + 1];
+        for (int e = 0; e < edges; e++) {
+            this.childOffsets[this.parentIndexes[e] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            this.childOffsets[i + 1] += this.childOffsets[i];
+        }
+
+        this.childIndexes = new int[edges];
+        int[] next = Arrays.copyOf(this.childOffsets, size);
+        for (int child = 0; child < size; child++) {
+            for (int e = this.parentOffsets[child]; e < this.parentOffsets[child + 1]; e++) {
+                this.childIndexes[next[this.parentIndexes[e]]++] = child;
+            }
+        }
+    }
+
+    public static ManifestIndex empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the adapter (e.g. {@code postgres}, {@code duckdb}) that produced the manifest, if known
+     */
+    public String adapterType() {
+        return adapterType;
+    }
+
+    /**
+     * @return the number of models in the manifest
+     */
+    public int size() {
+        return uniqueIds.length;
+    }
+
+    public boolean isEmpty() {
+        return uniqueIds.length == 0;
+    }
+
+    /**
+     * @return the index of the model with this unique id, or {@code -1} when it's not a model of the manifest
+     */
+    public int indexOf(String uniqueId) {
+        if (uniqueId == null) {
+            return -1;
+        }
+
+        Integer index = indexes.get(uniqueId);
+        return index == null ? -1 : index;
+    }
+
+    public String uniqueId(int index) {
+        return uniqueIds[index];
+    }
+
+    public String database(int index) {
+        return databases[index];
+    }
+
+    public String schema(int index) {
+        return schemas[index];
+    }
+
+    /**
+     * @return the relation name of the model: its alias, or its name, or its unique id as a last resort
+     */
+    public String name(int index) {
+        return names[index];
+    }
+
+    /**
+     * @return the tags of the model, never null
+     */
+    public String[] tags(int index) {
+        return tags[index];
+    }
+
+    /**
+     * @return the number of models the model directly depends on
+     */
+    public int parentCount(int index) {
+        return parentOffsets[index + 1] - parentOffsets[index];
+    }
+
+    /**
+     * @return the index of the n-th model the model directly depends on
+     */
+    public int parent(int index, int n) {
+        return parentIndexes[parentOffsets[index] + n];
+    }
+
+    /**
+     * @return the number of models directly depending on the model
+     */
+    public int childCount(int index) {
+        return childOffsets[index + 1] - childOffsets[index];
+    }
+
+    /**
+     * @return the index of the n-th model directly depending on the model
+     */
+    public int child(int index, int n) {
+        return childIndexes[childOffsets[index] + n];
+    }
+
+    public static final class Builder {
+        private final Map<String, String> pool = new HashMap<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> uniqueIds = new ArrayList<>();
+        private final List<String> databases = new ArrayList<>();
+        private final List<String> schemas = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<String[]> tags = new ArrayList<>();
+        private final List<List<String>> dependsOn = new ArrayList<>();
+        private final Map<String, List<String>> parentMap = new HashMap<>();
+        private String adapterType;
+
+        private Builder() {
+        }
+
+        public Builder adapterType(String adapterType) {
+            this.adapterType = adapterType;
+            return this;
+        }
+
+        /**
+         * Add a model node; later additions of the same unique id are ignored.
+         *
+         * @param dependsOn the node-level {@code depends_on.nodes}, only used when {@code parent_map} has no entry for it
+         */
+        public Builder model(String uniqueId, String database, String schema, String name, String alias, List<String> dependsOn, List<String> tags) {
+            if (!hasValue(uniqueId) || indexes.containsKey(uniqueId)) {
+                return this;
+            }
+
+            String id = intern(uniqueId);
+            indexes.put(id, uniqueIds.size());
+            uniqueIds.add(id);
+            databases.add(intern(database));
+            schemas.add(intern(schema));
+            names.add(hasValue(alias) ? alias : hasValue(name) ? name : id);
+            this.dependsOn.add(dependsOn);
+
+            if (tags == null || tags.isEmpty()) {
+                this.tags.add(NO_TAGS);
+            } else {
+                String[] modelTags = new String[tags.size()];
+                for (int i = 0; i < modelTags.length; i++) {
+                    modelTags[i] = intern(tags.get(i));
+                }
+                this.tags.add(modelTags);
+            }
+
+            return this;
+        }
+
+        public Builder parents(String uniqueId, List<String> parents) {
+            this.parentMap.put(uniqueId, parents);
+            return this;
+        }
+
+        /**
+         * @return whether the unique id was added as a model
+         */
+        public boolean contains(String uniqueId) {
+            return indexes.containsKey(uniqueId);
+        }
+
+        public boolean hasModels() {
+            return !uniqueIds.isEmpty();
+        }
+
+        public ManifestIndex build() {
+            return new ManifestIndex(this);
+        }
+
+        private String intern(String value) {
+            if (value == null) {
+                return null;
+            }
+
+            String existing = pool.putIfAbsent(value, value);
+            return existing == null ? value : existing;
+        }
+
+        private static boolean hasValue(String value) {
+            return value != null && !value.trim().isEmpty();
+        }
+    }
+}
@@ -38,7 +38,7 @@ public class RunResult {
         Double executionTime;
 
         @JsonProperty("adapter_response")
-        Map<String, String> adapterResponse;
+        AdapterResponse adapterResponse;
 
         String message;
 
@@ -0,0 +1,84 @@
+package io.kestra.plugin.dbt;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.dbt.cli.DbtCLI;
+import io.kestra.plugin.dbt.models.AdapterResponse;
+import io.kestra.plugin.dbt.models.ManifestIndex;
+import io.kestra.plugin.dbt.models.RunResult;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class AdapterMetricsTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void emit_shouldAggregatePerResourceTypeAndTag() {
+        ManifestIndex manifest = ManifestIndex.builder()
+            .model("model.p.a", "dev", "main", "a", null, null, List.of("daily"))
+            .model("model.p.b", "dev", "main", "b", null, null, List.of("daily", "finance"))
+            .build();
+
+        AdapterMetrics adapterMetrics = new AdapterMetrics();
+        for (int i = 1; i <= 20; i++) {
+            adapterMetrics.record(result("model.p." + (i % 2 == 0 ? "a" : "b"), Map.of("rows_affected", String.valueOf(i))), manifest);
+        }
+        adapterMetrics.record(result("seed.p.countries", Map.of("rows_affected", "250", "bytes_processed", "1024")), manifest);
+        adapterMetrics.record(result("test.p.not_null", Map.of()), manifest);
+
+        RunContext runContext = runContext();
+        adapterMetrics.emit(runContext);
+
+        assertThat(value(runContext, "rows.affected", "resource_type", "model"), is(210.0));
+        assertThat(value(runContext, "rows.affected.max", "resource_type", "model"), is(20.0));
+        assertThat(value(runContext, "rows.affected.p95", "resource_type", "model"), is(19.0));
+        assertThat(value(runContext, "rows.affected", "resource_type", "seed"), is(250.0));
+        assertThat(value(runContext, "bytes.processed", "resource_type", "seed"), is(1024.0));
+        assertThat(value(runContext, "rows.affected", "tag", "daily"), is(210.0));
+        assertThat(value(runContext, "rows.affected", "tag", "finance"), is(100.0));
+        // nothing reported by the test node, no metric without value
+        assertThat(runContext.metrics().stream().noneMatch(m -> "test".equals(m.getTags().get("resource_type"))), is(true));
+        assertThat(runContext.metrics().stream().noneMatch(m -> m.getName().equals("bytes.processed") && "model".equals(m.getTags().get("resource_type"))), is(true));
+    }
+
+    private static RunResult.Result result(String uniqueId, Map<String, String> adapterResponse) {
+        return RunResult.Result.builder()
+            .status("success")
+            .uniqueId(uniqueId)
+            .adapterResponse(AdapterResponse.of(adapterResponse))
+            .build();
+    }
+
+    private static Object value(RunContext runContext, String name, String tagKey, String tagValue) {
+        return runContext.metrics().stream()
+            .filter(m -> m.getName().equals(name) && tagValue.equals(m.getTags().get(tagKey)))
+            .map(AbstractMetricEntry::getValue)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private RunContext runContext() {
+        DbtCLI task = DbtCLI.builder()
+            .id(IdUtils.create())
+            .type(DbtCLI.class.getName())
+            .commands(Property.ofValue(List.of("dbt build")))
+            .build();
+
+        return TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+    }
+}
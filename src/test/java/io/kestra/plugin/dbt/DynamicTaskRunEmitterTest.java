@@ -0,0 +1,73 @@
+package io.kestra.plugin.dbt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.WorkerTaskResult;
+import io.kestra.core.utils.IdUtils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class DynamicTaskRunEmitterTest {
+    @Test
+    void emit_shouldFlushAnIdleBatchOnceItsDelayIsOver() {
+        RunContext runContext = mock(RunContext.class);
+
+        try (DynamicTaskRunEmitter emitter = new DynamicTaskRunEmitter(runContext, 10, Duration.ofMillis(100))) {
+            emitter.emit(workerTaskResult(), List.of());
+            emitter.emit(workerTaskResult(), List.of());
+
+            // no other node finishes: the batch is registered by the timer
+            verify(runContext, timeout(5000)).dynamicWorkerResult(argThat((List<WorkerTaskResult> batch) -> batch.size() == 2));
+
+            // a new batch gets its own delay
+            emitter.emit(workerTaskResult(), List.of());
+            verify(runContext, timeout(5000)).dynamicWorkerResult(argThat((List<WorkerTaskResult> batch) -> batch.size() == 1));
+        }
+
+        verify(runContext, times(2)).dynamicWorkerResult(anyList());
+    }
+
+    @Test
+    void emit_shouldFlushAFullBatchRightAway() {
+        RunContext runContext = mock(RunContext.class);
+
+        try (DynamicTaskRunEmitter emitter = new DynamicTaskRunEmitter(runContext, 2, Duration.ofHours(1))) {
+            emitter.emit(workerTaskResult(), List.of());
+            verify(runContext, never()).dynamicWorkerResult(anyList());
+
+            emitter.emit(workerTaskResult(), List.of());
+            verify(runContext, times(1)).dynamicWorkerResult(anyList());
+        }
+    }
+
+    @Test
+    void emit_shouldRegisterUnderTheRunContextLock() {
+        RunContext runContext = mock(RunContext.class);
+        List<Boolean> locked = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> locked.add(Thread.holdsLock(runContext))).when(runContext).dynamicWorkerResult(anyList());
+
+        try (DynamicTaskRunEmitter emitter = new DynamicTaskRunEmitter(runContext, 10, Duration.ofMillis(100))) {
+            emitter.emit(workerTaskResult(), List.of());
+
+            // flushed by the timer thread
+            verify(runContext, timeout(5000)).dynamicWorkerResult(anyList());
+        }
+
+        assertThat(locked, contains(true));
+    }
+
+    private static WorkerTaskResult workerTaskResult() {
+        return WorkerTaskResult.builder()
+            .taskRun(TaskRun.builder().id(IdUtils.create()).build())
+            .build();
+    }
+}
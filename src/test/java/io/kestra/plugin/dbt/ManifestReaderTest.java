@@ -0,0 +1,203 @@
+package io.kestra.plugin.dbt;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.dbt.models.ManifestIndex;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ManifestReaderTest {
+    private static final String MANIFEST = """
+        {
+          "metadata": {
+            "adapter_type": "duckdb",
+            "project_name": "unit_kestra"
+          },
+          "nodes": {
+            "model.project.stg_orders": {
+              "database": "dev",
+              "schema": "staging",
+              "name": "stg_orders",
+              "resource_type": "model",
+              "compiled_sql": "select * from raw.orders",
+              "config": {"materialized": "view", "tags": ["a", "b"]},
+              "tags": ["a", "b"],
+              "columns": {"id": {"name": "id", "meta": {}}},
+              "unique_id": "model.project.stg_orders",
+              "depends_on": {
+                "macros": ["macro.dbt.ref"],
+                "nodes": ["source.project.raw.orders"]
+              }
+            },
+            "test.project.not_null_stg_orders_id": {
+              "database": "dev",
+              "schema": "staging",
+              "name": "not_null_stg_orders_id",
+              "resource_type": "test",
+              "unique_id": "test.project.not_null_stg_orders_id",
+              "depends_on": {"nodes": ["model.project.stg_orders"]}
+            }
+          },
+          "sources": {
+            "source.project.raw.orders": {"name": "orders", "resource_type": "source"}
+          },
+          "macros": {
+            "macro.dbt.ref": {"macro_sql": "{% macro ref() %}{% endmacro %}"}
+          },
+          "docs": {
+            "doc.project.overview": {"block_contents": "..."}
+          },
+          "parent_map": {
+            "model.project.stg_orders": ["source.project.raw.orders"],
+            "test.project.not_null_stg_orders_id": ["model.project.stg_orders"],
+            "source.project.raw.orders": []
+          },
+          "child_map": {
+            "source.project.raw.orders": ["model.project.stg_orders"]
+          }
+        }
+        """;
+
+    @Test
+    void read_shouldOnlyKeepModels() throws Exception {
+        ManifestIndex manifest = read(MANIFEST);
+
+        assertThat(manifest.adapterType(), is("duckdb"));
+        assertThat(manifest.size(), is(1));
+        assertThat(manifest.indexOf("test.project.not_null_stg_orders_id"), is(-1));
+        assertThat(manifest.indexOf("source.project.raw.orders"), is(-1));
+
+        int index = manifest.indexOf("model.project.stg_orders");
+        assertThat(index, is(0));
+        assertThat(manifest.uniqueId(index), is("model.project.stg_orders"));
+        assertThat(manifest.database(index), is("dev"));
+        assertThat(manifest.schema(index), is("staging"));
+        assertThat(manifest.name(index), is("stg_orders"));
+        assertThat(manifest.tags(index), arrayContaining("a", "b"));
+        // the source it depends on is not a model: no edge
+        assertThat(manifest.parentCount(index), is(0));
+        assertThat(manifest.childCount(index), is(0));
+    }
+
+    @Test
+    void read_parentMapBeforeNodes_shouldUseParentMap() throws Exception {
+        ManifestIndex manifest = read("""
+            {
+              "parent_map": {
+                "model.project.a": [],
+                "model.project.b": ["model.project.a"],
+                "seed.project.c": []
+              },
+              "nodes": {
+                "model.project.a": {"resource_type": "model", "name": "a", "unique_id": "model.project.a"},
+                "model.project.b": {
+                  "resource_type": "model",
+                  "name": "b",
+                  "alias": "b_alias",
+                  "unique_id": "model.project.b",
+                  "depends_on": {"nodes": ["model.project.a", "seed.project.c"]}
+                },
+                "seed.project.c": {"resource_type": "seed", "name": "c", "unique_id": "seed.project.c"}
+              }
+            }
+            """);
+
+        assertThat(manifest.adapterType(), is(nullValue()));
+        assertThat(manifest.size(), is(2));
+
+        int a = manifest.indexOf("model.project.a");
+        int b = manifest.indexOf("model.project.b");
+        assertThat(manifest.name(b), is("b_alias"));
+        assertThat(manifest.parentCount(b), is(1));
+        assertThat(manifest.parent(b, 0), is(a));
+        assertThat(manifest.childCount(a), is(1));
+        assertThat(manifest.child(a, 0), is(b));
+    }
+
+    @Test
+    void read_withoutParentMap_shouldFallBackToDependsOn() throws Exception {
+        ManifestIndex manifest = read("""
+            {
+              "nodes": {
+                "model.project.a": {"resource_type": "model", "database": "dev", "schema": "main", "name": "a", "unique_id": "model.project.a"},
+                "model.project.b": {
+                  "resource_type": "model",
+                  "database": "dev",
+                  "schema": "main",
+                  "name": "b",
+                  "unique_id": "model.project.b",
+                  "depends_on": {"nodes": ["model.project.a"]}
+                }
+              }
+            }
+            """);
+
+        int a = manifest.indexOf("model.project.a");
+        int b = manifest.indexOf("model.project.b");
+        assertThat(manifest.parentCount(a), is(0));
+        assertThat(manifest.parentCount(b), is(1));
+        assertThat(manifest.parent(b, 0), is(a));
+        // interned: all models share the same database/schema instances
+        assertThat(manifest.database(a), sameInstance(manifest.database(b)));
+        assertThat(manifest.schema(a), sameInstance(manifest.schema(b)));
+    }
+
+    @Test
+    void read_shouldBuildChildrenOfDiamond() throws Exception {
+        ManifestIndex manifest = read("""
+            {
+              "nodes": {
+                "model.p.root": {"resource_type": "model", "name": "root"},
+                "model.p.left": {"resource_type": "model", "name": "left"},
+                "model.p.right": {"resource_type": "model", "name": "right"},
+                "model.p.leaf": {"resource_type": "model", "name": "leaf"}
+              },
+              "parent_map": {
+                "model.p.root": ["source.p.raw.orders"],
+                "model.p.left": ["model.p.root"],
+                "model.p.right": ["model.p.root"],
+                "model.p.leaf": ["model.p.left", "model.p.right", "seed.p.countries"]
+              }
+            }
+            """);
+
+        int root = manifest.indexOf("model.p.root");
+        int left = manifest.indexOf("model.p.left");
+        int right = manifest.indexOf("model.p.right");
+        int leaf = manifest.indexOf("model.p.leaf");
+
+        assertThat(manifest.parentCount(root), is(0));
+        assertThat(manifest.childCount(root), is(2));
+        assertThat(Set.of(manifest.child(root, 0), manifest.child(root, 1)), is(Set.of(left, right)));
+        assertThat(manifest.parentCount(leaf), is(2));
+        assertThat(manifest.childCount(leaf), is(0));
+        assertThat(manifest.childCount(left), is(1));
+        assertThat(manifest.child(left, 0), is(leaf));
+    }
+
+    @Test
+    void read_fromMap_shouldMatchStreamedIndex() throws Exception {
+        ManifestIndex streamed = read(MANIFEST);
+        ManifestIndex fromMap = ManifestReader.read(JacksonMapper.ofJson().readValue(MANIFEST, JacksonMapper.MAP_TYPE_REFERENCE));
+
+        assertThat(fromMap.adapterType(), is(streamed.adapterType()));
+        assertThat(fromMap.size(), is(streamed.size()));
+
+        int index = fromMap.indexOf("model.project.stg_orders");
+        assertThat(fromMap.database(index), is("dev"));
+        assertThat(fromMap.schema(index), is("staging"));
+        assertThat(fromMap.name(index), is("stg_orders"));
+        assertThat(fromMap.tags(index), arrayContaining("a", "b"));
+        assertThat(fromMap.parentCount(index), is(0));
+    }
+
+    private static ManifestIndex read(String content) throws Exception {
+        try (var parser = ResultParser.MAPPER.createParser(content)) {
+            return ManifestReader.read(parser);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.kestra.plugin.dbt;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.DynamicTaskRunLog;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.dbt.cli.DbtCLI;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class NodeLogsTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void drain_shouldReturnTheNodeLinesOnce() {
+        NodeLogs nodeLogs = new NodeLogs(runContext());
+
+        assertThat(nodeLogs.add("model.p.a", Level.INFO, "a 1"), is(true));
+        assertThat(nodeLogs.add("model.p.b", Level.WARN, "b 1"), is(true));
+        assertThat(nodeLogs.add("model.p.a", Level.ERROR, "a 2"), is(true));
+        assertThat(nodeLogs.add(null, Level.INFO, "no node"), is(false));
+
+        List<DynamicTaskRunLog> lines = nodeLogs.drain("model.p.a");
+        assertThat(lines.stream().map(DynamicTaskRunLog::message).toList(), contains("a 1", "a 2"));
+        assertThat(lines.get(1).level(), is(Level.ERROR));
+
+        // the taskrun is registered, the next lines go to the task logs
+        assertThat(nodeLogs.add("model.p.a", Level.INFO, "a 3"), is(false));
+        assertThat(nodeLogs.drain("model.p.a"), empty());
+
+        nodeLogs.close();
+        assertThat(nodeLogs.add("model.p.c", Level.INFO, "c 1"), is(false));
+        assertThat(nodeLogs.drain("model.p.b"), empty());
+    }
+
+    private RunContext runContext() {
+        DbtCLI task = DbtCLI.builder()
+            .id(IdUtils.create())
+            .type(DbtCLI.class.getName())
+            .commands(Property.ofValue(List.of("dbt build")))
+            .build();
+
+        return TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+    }
+}
@@ -1,6 +1,8 @@
 package io.kestra.plugin.dbt;
 
 import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,12 +14,14 @@ import org.slf4j.event.Level;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.executions.LogEntry;
+import io.kestra.core.models.flows.State;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.queues.QueueFactoryInterface;
 import io.kestra.core.queues.QueueInterface;
 import io.kestra.core.runners.AssetEmit;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.utils.IdUtils;
 import io.kestra.core.utils.TestsUtils;
 import io.kestra.plugin.dbt.cli.DbtCLI;
@@ -333,6 +337,211 @@ class ResultParserTest {
         assertThat(errorLogs.stream().anyMatch(l -> l.getMessage().contains("Database Error")), is(true));
     }
 
+    @Test
+    void emitRunResult_shouldComputeHistoriesAndPhaseDurations() throws Exception {
+        var runContext = mockRunContext();
+        var runResultsFile = runContext.workingDir().path(true).resolve("run_results.json");
+        Files.writeString(runResultsFile, """
+            {
+              "metadata": {"dbt_version": "1.8.0"},
+              "results": [
+                {
+                  "status": "success",
+                  "unique_id": "model.my_project.stg_orders",
+                  "execution_time": 3.0,
+                  "adapter_response": {},
+                  "timing": [
+                    {"name": "compile", "started_at": "2024-01-01T00:00:00Z", "completed_at": "2024-01-01T00:00:01Z"},
+                    {"name": "execute", "started_at": "2024-01-01T00:00:01Z", "completed_at": "2024-01-01T00:00:03Z"}
+                  ]
+                }
+              ],
+              "elapsed_time": 3.0
+            }
+            """);
+
+        ResultParser.emitRunResult(runContext, runResultsFile.toFile(), null);
+
+        var histories = runContext.dynamicWorkerResults().getFirst().getTaskRun().getState().getHistories();
+        assertThat(histories.stream().map(State.History::getState).toList(), contains(State.Type.CREATED, State.Type.RUNNING, State.Type.SUCCESS));
+        assertThat(histories.getFirst().getDate(), is(Instant.parse("2024-01-01T00:00:00Z")));
+        assertThat(histories.get(1).getDate(), is(Instant.parse("2024-01-01T00:00:01Z")));
+        assertThat(histories.getLast().getDate(), is(Instant.parse("2024-01-01T00:00:03Z")));
+
+        assertThat(
+            runContext.metrics().stream().filter(m -> m.getName().equals("node.compile.duration")).findFirst().orElseThrow().getValue(),
+            is(Duration.ofSeconds(1))
+        );
+        assertThat(
+            runContext.metrics().stream().filter(m -> m.getName().equals("node.execute.duration")).findFirst().orElseThrow().getValue(),
+            is(Duration.ofSeconds(2))
+        );
+    }
+
+    @Test
+    void emitRunResult_withoutUniqueId_shouldEmitTheNode() throws Exception {
+        var runContext = mockRunContext();
+        var runResultsFile = runContext.workingDir().path(true).resolve("run_results.json");
+        Files.writeString(runResultsFile, """
+            {
+              "results": [
+                {"status": "success", "timing": []},
+                {"status": "success", "unique_id": "model.my_project.stg_orders", "timing": []}
+              ]
+            }
+            """);
+
+        ResultParser.emitRunResult(runContext, runResultsFile.toFile(), null);
+        ResultParser.emitRunResult(runContext, runResultsFile.toFile(), null, ResultParser.EmitOptions.builder().emitted(Set.of("model.my_project.stg_orders")).build());
+
+        assertThat(runContext.dynamicWorkerResults().size(), is(3));
+    }
+
+    @Test
+    void emitRunResult_aggregated_shouldNotEmitPerNodeTimers() throws Exception {
+        var runContext = mockRunContext();
+        var runResultsFile = runContext.workingDir().path(true).resolve("run_results.json");
+        Files.writeString(runResultsFile, """
+            {
+              "results": [
+                {
+                  "status": "success",
+                  "unique_id": "model.my_project.stg_orders",
+                  "adapter_response": {"rows_affected": 3},
+                  "timing": [
+                    {"name": "compile", "started_at": "2024-01-01T00:00:00Z", "completed_at": "2024-01-01T00:00:01Z"},
+                    {"name": "execute", "started_at": "2024-01-01T00:00:01Z", "completed_at": "2024-01-01T00:00:03Z"}
+                  ]
+                }
+              ]
+            }
+            """);
+
+        ResultParser.emitRunResult(runContext, runResultsFile.toFile(), null, ResultParser.EmitOptions.builder().adapterMetrics(new AdapterMetrics()).build());
+
+        assertThat(runContext.dynamicWorkerResults().size(), is(1));
+        assertThat(runContext.metrics().stream().noneMatch(m -> m.getName().startsWith("node.")), is(true));
+    }
+
+    @Test
+    void emitRunResult_batched_shouldRegisterEveryTaskRun() throws Exception {
+        var runContext = mockRunContext();
+        var runResultsFile = runContext.workingDir().path(true).resolve("run_results.json");
+        StringBuilder results = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            results.append(i == 0 ? "" : ",").append("""
+                {
+                  "status": "success",
+                  "unique_id": "model.my_project.model_%d",
+                  "execution_time": 0.1,
+                  "adapter_response": {},
+                  "timing": []
+                }
+                """.formatted(i));
+        }
+        Files.writeString(runResultsFile, """
+            {
+              "metadata": {"dbt_version": "1.8.0"},
+              "results": [%s],
+              "elapsed_time": 0.5
+            }
+            """.formatted(results));
+
+        ResultParser.emitRunResult(runContext, runResultsFile.toFile(), null, ResultParser.EmitOptions.builder().batchSize(2).batchDelay(Duration.ofMinutes(1)).build());
+
+        assertThat(runContext.dynamicWorkerResults(), hasSize(5));
+        assertThat(
+            runContext.dynamicWorkerResults().stream().map(r -> r.getTaskRun().getTaskId()).collect(Collectors.toSet()),
+            hasItems("model.my_project.model_0", "model.my_project.model_4")
+        );
+    }
+
+    @Test
+    void liveRunResults_shouldEmitNodeFinishedAndBeSkippedAfterward() throws Exception {
+        var runContext = mockRunContext();
+        Map<String, Object> nodeFinished = JacksonMapper.ofJson().readValue("""
+            {
+              "node_info": {"unique_id": "model.my_project.stg_orders", "resource_type": "model"},
+              "run_result": {
+                "status": "success",
+                "message": "CREATE VIEW",
+                "thread": "Thread-1",
+                "execution_time": 2.0,
+                "num_failures": 0,
+                "adapter_response": {"rows_affected": 10},
+                "timing_info": [
+                  {"name": "compile", "started_at": "2024-01-01T00:00:00.123456Z", "completed_at": "2024-01-01T00:00:01Z"},
+                  {"name": "execute", "started_at": "2024-01-01T00:00:01Z", "completed_at": "2024-01-01T00:00:02Z"}
+                ]
+              }
+            }
+            """, JacksonMapper.MAP_TYPE_REFERENCE);
+
+        var live = new ResultParser.LiveRunResults(runContext, null, ResultParser.EmitOptions.builder().build());
+        live.nodeFinished(nodeFinished);
+        // reported twice, emitted once
+        live.nodeFinished(nodeFinished);
+        // emitted off the calling thread, waited for on close
+        live.close();
+
+        assertThat(runContext.dynamicWorkerResults(), hasSize(1));
+        assertThat(runContext.dynamicWorkerResults().getFirst().getTaskRun().getState().getCurrent(), is(State.Type.SUCCESS));
+        assertThat(live.emitted(), contains("model.my_project.stg_orders"));
+
+        var runResultsFile = runContext.workingDir().path(true).resolve("run_results.json");
+        Files.writeString(runResultsFile, """
+            {
+              "results": [
+                {"status": "success", "unique_id": "model.my_project.stg_orders", "adapter_response": {}, "timing": []},
+                {"status": "success", "unique_id": "model.my_project.fct_orders", "adapter_response": {}, "timing": []}
+              ]
+            }
+            """);
+        ResultParser.emitRunResult(runContext, runResultsFile.toFile(), null, ResultParser.EmitOptions.builder().emitted(live.emitted()).build());
+
+        assertThat(
+            runContext.dynamicWorkerResults().stream().map(r -> r.getTaskRun().getTaskId()).toList(),
+            containsInAnyOrder("model.my_project.stg_orders", "model.my_project.fct_orders")
+        );
+    }
+
+    @Test
+    void liveRunResults_shouldParseTheManifestOnceForThePostRun() throws Exception {
+        var runContext = mockRunContext();
+        var manifestFile = runContext.workingDir().path(true).resolve("manifest.json");
+        Files.writeString(manifestFile, """
+            {
+              "metadata": {"adapter_type": "postgres"},
+              "nodes": {
+                "model.my_project.stg_orders": {
+                  "resource_type": "model",
+                  "database": "analytics",
+                  "schema": "staging",
+                  "name": "stg_orders",
+                  "unique_id": "model.my_project.stg_orders",
+                  "depends_on": {"nodes": []}
+                }
+              }
+            }
+            """);
+        Map<String, Object> nodeFinished = Map.of(
+            "node_info", Map.of("unique_id", "model.my_project.stg_orders"),
+            "run_result", Map.of("status", "success")
+        );
+
+        var live = new ResultParser.LiveRunResults(runContext, manifestFile.toFile(), ResultParser.EmitOptions.builder().build());
+        live.nodeFinished(nodeFinished);
+        live.close();
+
+        assertThat(live.manifest(), is(notNullValue()));
+        assertThat(live.manifest().adapterType(), is("postgres"));
+        assertThat(live.manifest().indexOf("model.my_project.stg_orders"), greaterThanOrEqualTo(0));
+
+        // written again by a later dbt command: parsed again by the post-run
+        assertThat(manifestFile.toFile().setLastModified(manifestFile.toFile().lastModified() + 60_000), is(true));
+        assertThat(live.manifest(), is(nullValue()));
+    }
+
     private static AssetEmit findEmitWithOutput(List<AssetEmit> emitted, String outputId) {
         return emitted.stream()
             .filter(e -> e.outputs().stream().anyMatch(o -> o.getId().equals(outputId)))
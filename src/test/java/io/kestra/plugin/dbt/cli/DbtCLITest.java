@@ -348,6 +348,32 @@ class DbtCLITest {
         assertThat(output.getVars(), hasEntry("some_value", "hello"));
     }
 
+    @Test
+    void run_withLogQueue_shouldPopulateVarsBehindQueuedLines() throws Exception {
+        DbtCLI task = DbtCLI.builder()
+            .id(IdUtils.create())
+            .type(DbtCLI.class.getName())
+            .taskRunner(Process.instance())
+            .logQueueSize(Property.ofValue(1))
+            .commands(
+                Property.ofValue(
+                    List.of(
+                        "for i in $(seq 1 500); do echo \"{\\\"info\\\": {\\\"level\\\": \\\"info\\\", \\\"msg\\\": \\\"line $i\\\"}}\"; done",
+                        "echo '::{\"outputs\":{\"some_value\":\"hello\"}}::'"
+                    )
+                )
+            )
+            .build();
+
+        RunContext runContext = TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+
+        DbtCLI.Output output = task.run(runContext);
+
+        // the marker comes last, behind lines still waiting in the queue when the process exits
+        assertThat(output.getExitCode(), is(0));
+        assertThat(output.getVars(), hasEntry("some_value", "hello"));
+    }
+
     @Test
     void run_withProjectDir_shouldInjectProjectDirFlag() throws Exception {
         DbtCLI task = DbtCLI.builder()
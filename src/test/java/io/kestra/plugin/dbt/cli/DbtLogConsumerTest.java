@@ -0,0 +1,81 @@
+package io.kestra.plugin.dbt.cli;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@KestraTest
+class DbtLogConsumerTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void queued_shouldParseEveryLineOnClose() {
+        RunContext runContext = runContext();
+        AtomicBoolean hasWarning = new AtomicBoolean(false);
+
+        DbtLogConsumer logConsumer = new DbtLogConsumer(runContext, hasWarning, DbtLogConsumer.Options.builder().queueSize(4).build());
+        for (int i = 0; i < 100; i++) {
+            logConsumer.accept("{\"info\": {\"level\": \"info\", \"msg\": \"line " + i + "\"}}", false);
+        }
+        logConsumer.accept("{\"data\": {\"stats\": {\"pass\": 1}}, \"info\": {\"level\": \"warn\", \"msg\": \"Done.\"}}", false);
+        logConsumer.accept("::{\"outputs\":{\"key\":\"value\"}}::", false);
+
+        // the output markers are handled right away, the task runner reads them before the consumer is closed
+        assertThat(logConsumer.getOutputs().get("key"), is("value"));
+
+        logConsumer.close();
+
+        assertThat(hasWarning.get(), is(true));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("pass")), is(true));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("log.queue.depth")), is(true));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("log.dropped")), is(false));
+    }
+
+    @Test
+    void queued_shouldKeepDrainingWhenALineFails() {
+        RunContext runContext = mock(RunContext.class);
+        Logger logger = mock(Logger.class);
+        when(runContext.logger()).thenReturn(logger);
+        doThrow(new RuntimeException("appender failure")).when(logger).info(anyString());
+
+        DbtLogConsumer logConsumer = new DbtLogConsumer(runContext, new AtomicBoolean(false), DbtLogConsumer.Options.builder().queueSize(1).build());
+        for (int i = 0; i < 10; i++) {
+            logConsumer.accept("line " + i, false);
+        }
+
+        // doesn't hang on a full queue nor on close
+        logConsumer.close();
+
+        verify(logger).warn(eq("{} dbt log lines could not be handled."), eq(10L), any(RuntimeException.class));
+    }
+
+    private RunContext runContext() {
+        DbtCLI task = DbtCLI.builder()
+            .id(IdUtils.create())
+            .type(DbtCLI.class.getName())
+            .commands(Property.ofValue(List.of("dbt build")))
+            .build();
+
+        return TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+    }
+}
@@ -0,0 +1,159 @@
+package io.kestra.plugin.dbt.cli;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.dbt.NodeLogs;
+import io.kestra.plugin.dbt.ResultParser;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@KestraTest
+class LogServiceTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void parse_shouldEmitStatsAndFlagWarnings() {
+        RunContext runContext = runContext();
+        AtomicBoolean hasWarning = new AtomicBoolean(false);
+
+        LogService.parse(
+            runContext,
+            "{\"data\": {\"stats\": {\"pass\": 3, \"warn\": 1, \"error\": 0}, \"node_info\": {\"unique_id\": \"model.a\"}}," +
+                " \"info\": {\"level\": \"warn\", \"name\": \"StatsLine\", \"msg\": \"Done.\", \"ts\": \"2024-01-01T00:00:00Z\", \"thread\": \"MainThread\"}}",
+            hasWarning
+        );
+
+        assertThat(hasWarning.get(), is(true));
+        assertThat(metric(runContext, "pass"), is(3.0));
+        assertThat(metric(runContext, "warn"), is(1.0));
+        assertThat(metric(runContext, "error"), is(0.0));
+    }
+
+    @Test
+    void parse_nodeInfo_shouldHoldTheLineForTheNodeTaskRun() {
+        RunContext runContext = runContext();
+        NodeLogs nodeLogs = mock(NodeLogs.class);
+        when(nodeLogs.add(any(), any(), any())).thenReturn(true);
+
+        LogService.parse(
+            runContext,
+            "{\"data\": {\"node_info\": {\"unique_id\": \"model.p.a\"}}, \"info\": {\"level\": \"info\", \"name\": \"LogModelResult\", \"msg\": \"OK created model\"}}",
+            new AtomicBoolean(false),
+            DbtLogConsumer.Options.builder().nodeLogs(nodeLogs).build()
+        );
+        LogService.parse(
+            runContext,
+            "{\"info\": {\"level\": \"info\", \"name\": \"MainReportVersion\", \"msg\": \"Running with dbt\"}}",
+            new AtomicBoolean(false),
+            DbtLogConsumer.Options.builder().nodeLogs(nodeLogs).build()
+        );
+
+        verify(nodeLogs).add(eq("model.p.a"), eq(Level.INFO), contains("OK created model"));
+        verifyNoMoreInteractions(nodeLogs);
+    }
+
+    @Test
+    void parse_nodeFinished_shouldEmitTheNodeLive() throws Exception {
+        RunContext runContext = runContext();
+        ResultParser.LiveRunResults live = new ResultParser.LiveRunResults(runContext, null, ResultParser.EmitOptions.builder().build());
+
+        LogService.parse(
+            runContext,
+            "{\"data\": {\"node_info\": {\"unique_id\": \"model.p.a\"}, \"run_result\": {\"status\": \"success\"}}," +
+                " \"info\": {\"level\": \"info\", \"name\": \"NodeFinished\", \"msg\": \"Finished running node model.p.a\"}}",
+            new AtomicBoolean(false),
+            DbtLogConsumer.Options.builder().liveRunResults(live).build()
+        );
+        live.close();
+
+        assertThat(live.emitted(), hasItem("model.p.a"));
+        assertThat(runContext.dynamicWorkerResults(), hasSize(1));
+        assertThat(runContext.dynamicWorkerResults().getFirst().getTaskRun().getTaskId(), is("model.p.a"));
+    }
+
+    @Test
+    void parse_legacyAndInvalidLines_shouldNotFail() {
+        RunContext runContext = runContext();
+        AtomicBoolean hasWarning = new AtomicBoolean(false);
+
+        LogService.parse(runContext, "{\"level\": \"info\", \"type\": \"log_line\", \"thread_name\": \"MainThread\", \"msg\": \"Running\"}", hasWarning);
+        LogService.parse(runContext, "not a json line", hasWarning);
+        LogService.parse(runContext, "{\"info\": \"not an object\"}", hasWarning);
+        LogService.parse(runContext, "{\"data\": {\"stats\": {\"pass\": 1}}", hasWarning);
+
+        assertThat(hasWarning.get(), is(false));
+    }
+
+    @Test
+    void isDebugOnly_shouldMatchEveryLevelKey() {
+        assertThat(LogService.isDebugOnly("{\"info\": {\"level\": \"debug\", \"msg\": \"a\"}}"), is(true));
+        assertThat(LogService.isDebugOnly("{\"level\":\"debug\",\"msg\":\"a\"}"), is(true));
+        assertThat(LogService.isDebugOnly("{\"info\": {\"level\": \"info\", \"msg\": \"a\"}}"), is(false));
+        assertThat(LogService.isDebugOnly("{\"data\": {\"level\": \"debug\"}, \"info\": {\"level\": \"info\"}}"), is(false));
+        assertThat(LogService.isDebugOnly("{\"info\": {\"msg\": \"the \\\"level\\\" is debug\", \"level\": \"warn\"}}"), is(false));
+        assertThat(LogService.isDebugOnly("plain text line"), is(false));
+    }
+
+    @Test
+    void isDroppable_shouldKeepStatsAndLiveNodeFinished() {
+        String debug = "{\"info\": {\"level\": \"debug\", \"name\": \"NodeFinished\"}}";
+
+        assertThat(LogService.isDroppable(debug, false), is(true));
+        assertThat(LogService.isDroppable(debug, true), is(false));
+        assertThat(LogService.isDroppable("{\"data\": {\"stats\": {}}, \"info\": {\"level\": \"debug\"}}", false), is(false));
+        assertThat(LogService.isDroppable("{\"info\": {\"level\": \"info\"}}", false), is(false));
+    }
+
+    @Test
+    void isDiscarded_shouldKeepStatsAndLiveNodeFinished() {
+        RunContext runContext = runContext();
+        String debug = "{\"info\": {\"level\": \"debug\", \"name\": \"NodeFinished\"}}";
+
+        if (runContext.logger().isDebugEnabled()) {
+            assertThat(LogService.isDiscarded(runContext, debug, false), is(false));
+        } else {
+            assertThat(LogService.isDiscarded(runContext, debug, false), is(true));
+            assertThat(LogService.isDiscarded(runContext, debug, true), is(false));
+            assertThat(LogService.isDiscarded(runContext, "{\"data\": {\"stats\": {}}, \"info\": {\"level\": \"debug\"}}", false), is(false));
+        }
+    }
+
+    private static Double metric(RunContext runContext, String name) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals(name))
+            .map(AbstractMetricEntry::getValue)
+            .map(value -> ((Number) value).doubleValue())
+            .findFirst()
+            .orElse(null);
+    }
+
+    private RunContext runContext() {
+        DbtCLI task = DbtCLI.builder()
+            .id(IdUtils.create())
+            .type(DbtCLI.class.getName())
+            .commands(Property.ofValue(List.of("dbt build")))
+            .build();
+
+        return TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+    }
+}
@@ -0,0 +1,282 @@
+package io.kestra.plugin.dbt.cli;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.storages.kv.KVEntry;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.dbt.models.ManifestIndex;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@KestraTest
+class ManifestKvStoreTest {
+    private static final String MANIFEST_KEY = "manifest.json";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void store_raw_shouldRoundTripFileContentAsIs() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestIndex manifestIndex = ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+
+        assertThat(manifestIndex.isEmpty(), is(true));
+        assertThat(kvStore.getValue(MANIFEST_KEY).orElseThrow().value(), instanceOf(String.class));
+
+        Path loaded = runContext.workingDir().path(true).resolve("loaded/target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, MANIFEST_KEY, loaded), is(true));
+        assertThat(Files.mismatch(manifest, loaded), is(-1L));
+    }
+
+    @Test
+    void store_json_shouldStoreAnObject() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestIndex manifestIndex = ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.JSON, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+
+        assertThat(manifestIndex.isEmpty(), is(true));
+        assertThat(kvStore.getValue(MANIFEST_KEY).orElseThrow().value(), instanceOf(Map.class));
+
+        Path loaded = runContext.workingDir().path(true).resolve("loaded/target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, MANIFEST_KEY, loaded), is(true));
+        assertThat(Files.readString(loaded), startsWith("{"));
+    }
+
+    @Test
+    void store_gzip_shouldRoundTripFileContent() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestIndex manifestIndex = ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.JSON, DbtCLI.ManifestCompression.GZIP, null, manifest.toFile(), null);
+
+        assertThat(manifestIndex.isEmpty(), is(true));
+        assertThat((String) kvStore.getValue(MANIFEST_KEY).orElseThrow().value(), startsWith("H4sI"));
+
+        Path loaded = runContext.workingDir().path(true).resolve("loaded/target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, MANIFEST_KEY, loaded), is(true));
+        assertThat(Files.mismatch(manifest, loaded), is(-1L));
+    }
+
+    @Test
+    void store_chunked_shouldRoundTripAndDeletePreviousPartsLazily() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, 16, manifest.toFile(), null);
+        List<?> parts = parts(kvStore);
+        // parts of the Base64 payload
+        long encodedSize = (Files.size(manifest) + 2) / 3 * 4;
+        assertThat(parts.size(), is((int) ((encodedSize + 15) / 16)));
+        for (Object part : parts) {
+            assertThat(kvStore.getValue(part.toString()).orElseThrow().value().toString().length(), lessThanOrEqualTo(16));
+        }
+
+        Path loaded = runContext.workingDir().path(true).resolve("loaded/target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, MANIFEST_KEY, loaded), is(true));
+        assertThat(Files.mismatch(manifest, loaded), is(-1L));
+
+        // stored again with other settings: the previous parts are kept for the readers of the previous index
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.GZIP, 16, manifest.toFile(), null);
+        for (Object part : parts) {
+            assertThat(kvStore.get(part.toString()).isPresent(), is(true));
+        }
+
+        Path reloaded = runContext.workingDir().path(true).resolve("reloaded/target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, MANIFEST_KEY, reloaded), is(true));
+        assertThat(Files.mismatch(manifest, reloaded), is(-1L));
+
+        // until the next store
+        List<?> compressedParts = parts(kvStore);
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+        for (Object part : parts) {
+            assertThat(kvStore.get(part.toString()).isPresent(), is(false));
+        }
+        for (Object part : compressedParts) {
+            assertThat(kvStore.get(part.toString()).isPresent(), is(true));
+        }
+    }
+
+    @Test
+    void store_chunked_shouldOnlyChunkWhenTheCompressedPayloadIsLarger() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestKvStore.store(runContext, kvStore, "compressed", DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.GZIP, null, manifest.toFile(), null);
+        int compressedSize = kvStore.getValue("compressed").orElseThrow().value().toString().length();
+        assertThat((long) compressedSize, lessThan(Files.size(manifest)));
+
+        // larger than the file would allow, but not than the compressed payload
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.GZIP, compressedSize, manifest.toFile(), null);
+        assertThat((String) kvStore.getValue(MANIFEST_KEY).orElseThrow().value(), startsWith("H4sI"));
+
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.GZIP, compressedSize - 1, manifest.toFile(), null);
+        assertThat(parts(kvStore).size(), is(2));
+    }
+
+    @Test
+    void load_whileStoring_shouldReadThePreviousManifest() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, 16, manifest.toFile(), null);
+
+        // a store completes between the read of the index and the read of its parts
+        KVStore reader = mock(KVStore.class, AdditionalAnswers.delegatesTo(kvStore));
+        doAnswer(invocation -> {
+            Optional<KVValue> index = kvStore.getValue(MANIFEST_KEY);
+            ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.GZIP, 16, manifest.toFile(), null);
+            return index;
+        }).when(reader).getValue(MANIFEST_KEY);
+
+        Path loaded = runContext.workingDir().path(true).resolve("loaded/target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, reader, MANIFEST_KEY, loaded), is(true));
+        assertThat(Files.mismatch(manifest, loaded), is(-1L));
+    }
+
+    @Test
+    void store_unchangedManifest_shouldSkipWrite() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+        assertThat(kvStore.getValue(MANIFEST_KEY + ".sha256").orElseThrow().value().toString(), startsWith("sha256:"));
+
+        // a description set by the user doesn't change the fingerprint
+        Object stored = kvStore.getValue(MANIFEST_KEY).orElseThrow().value();
+        kvStore.put(MANIFEST_KEY, new KVValueAndMetadata(new KVMetadata("dbt project manifest", (Duration) null), stored));
+
+        ManifestIndex manifestIndex = ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+        assertThat(manifestIndex.isEmpty(), is(true));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("manifest.store.skipped")), is(true));
+
+        // other settings: stored again even if the manifest is the same, keeping the description
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.JSON, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+        assertThat(kvStore.getValue(MANIFEST_KEY).orElseThrow().value(), instanceOf(Map.class));
+        assertThat(kvStore.get(MANIFEST_KEY).map(KVEntry::description).orElse(null), is("dbt project manifest"));
+    }
+
+    @Test
+    void store_deletedManifest_shouldStoreItAgain() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+        kvStore.delete(MANIFEST_KEY);
+
+        // the fingerprint is still there, but not the manifest it was computed for
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+        assertThat(runContext.metrics().stream().noneMatch(metric -> metric.getName().equals("manifest.store.skipped")), is(true));
+
+        Path loaded = runContext.workingDir().path(true).resolve("loaded/target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, MANIFEST_KEY, loaded), is(true));
+        assertThat(Files.mismatch(manifest, loaded), is(-1L));
+    }
+
+    @Test
+    void store_overwrittenIndex_shouldStoreThePartsAgain() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, 16, manifest.toFile(), null);
+        kvStore.put(MANIFEST_KEY, new KVValueAndMetadata(null, "{}"));
+
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, 16, manifest.toFile(), null);
+        assertThat(parts(kvStore), not(empty()));
+
+        Path loaded = runContext.workingDir().path(true).resolve("loaded/target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, MANIFEST_KEY, loaded), is(true));
+        assertThat(Files.mismatch(manifest, loaded), is(-1L));
+    }
+
+    @Test
+    void store_shouldKeepTheExpiryOfTheEntry() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        Path manifest = manifest();
+
+        kvStore.put(MANIFEST_KEY, new KVValueAndMetadata(new KVMetadata("dbt project manifest", Duration.ofDays(7)), "{}"));
+        Instant expiration = kvStore.get(MANIFEST_KEY).map(KVEntry::expirationDate).orElseThrow();
+
+        ManifestKvStore.store(runContext, kvStore, MANIFEST_KEY, DbtCLI.ManifestFormat.RAW, DbtCLI.ManifestCompression.NONE, null, manifest.toFile(), null);
+
+        assertThat(kvStore.get(MANIFEST_KEY).map(KVEntry::expirationDate).orElse(null), is(expiration));
+        assertThat(kvStore.get(MANIFEST_KEY).map(KVEntry::description).orElse(null), is("dbt project manifest"));
+    }
+
+    @Test
+    void load_missingKey_shouldReturnFalse() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+
+        Path loaded = runContext.workingDir().path(true).resolve("target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, "missing", loaded), is(false));
+        assertThat(Files.exists(loaded), is(false));
+    }
+
+    @Test
+    void load_emptyValue_shouldReturnFalse() throws Exception {
+        RunContext runContext = runContext();
+        KVStore kvStore = runContext.namespaceKv(runContext.render("{{ flow.namespace }}"));
+        kvStore.put("empty-json", new KVValueAndMetadata(null, Map.of()));
+        kvStore.put("empty-raw", new KVValueAndMetadata(null, " "));
+
+        Path loaded = runContext.workingDir().path(true).resolve("target/manifest.json");
+        assertThat(ManifestKvStore.load(runContext, kvStore, "empty-json", loaded), is(false));
+        assertThat(ManifestKvStore.load(runContext, kvStore, "empty-raw", loaded), is(false));
+        assertThat(Files.exists(loaded), is(false));
+    }
+
+    private static List<?> parts(KVStore kvStore) throws Exception {
+        return (List<?>) ((Map<?, ?>) kvStore.getValue(MANIFEST_KEY).orElseThrow().value()).get("dbtManifestParts");
+    }
+
+    private Path manifest() throws Exception {
+        return Path.of(Objects.requireNonNull(this.getClass().getClassLoader().getResource("manifest/manifest.json")).toURI());
+    }
+
+    private RunContext runContext() {
+        DbtCLI task = DbtCLI.builder()
+            .id(IdUtils.create())
+            .type(DbtCLI.class.getName())
+            .commands(Property.ofValue(List.of("dbt build")))
+            .build();
+
+        return TestsUtils.mockRunContext(runContextFactory, task, Map.of());
+    }
+}
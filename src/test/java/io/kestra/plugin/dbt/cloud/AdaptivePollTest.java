@@ -0,0 +1,81 @@
+package io.kestra.plugin.dbt.cloud;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.plugin.dbt.cloud.models.JobStatus;
+import io.kestra.plugin.dbt.cloud.models.Run;
+import io.kestra.plugin.dbt.cloud.models.Step;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AdaptivePollTest {
+    private static final Duration MIN = Duration.ofSeconds(5);
+    private static final Duration MAX = Duration.ofSeconds(60);
+
+    @Test
+    void next_shouldBackOffWithoutProgressAndResetOnProgress() {
+        AdaptivePoll adaptivePoll = new AdaptivePoll(MIN, MAX, null);
+        Instant now = Instant.now();
+        Run running = run(now.minusSeconds(30), 1, 0);
+
+        assertBetween(adaptivePoll.next(running, now), MIN);
+        assertBetween(adaptivePoll.next(running, now), Duration.ofSeconds(10));
+        assertBetween(adaptivePoll.next(running, now), Duration.ofSeconds(20));
+        assertBetween(adaptivePoll.next(running, now), Duration.ofSeconds(40));
+        assertBetween(adaptivePoll.next(running, now), MAX);
+        assertBetween(adaptivePoll.next(running, now), MAX);
+
+        // a step finished
+        assertBetween(adaptivePoll.next(run(now.minusSeconds(30), 1, 1), now), MIN);
+    }
+
+    @Test
+    void next_shouldPollFastAroundTheExpectedEnd() {
+        AdaptivePoll adaptivePoll = new AdaptivePoll(MIN, MAX, Duration.ofMinutes(40));
+        Instant startedAt = Instant.now().minus(Duration.ofMinutes(30));
+        Run running = run(startedAt, 1, 0);
+
+        for (int i = 0; i < 10; i++) {
+            adaptivePoll.next(running, startedAt.plus(Duration.ofMinutes(30)));
+        }
+
+        // 10 minutes before the expected end: backed off
+        assertBetween(adaptivePoll.next(running, startedAt.plus(Duration.ofMinutes(30))), MAX);
+        // never waiting past the expected end
+        assertBetween(adaptivePoll.next(running, startedAt.plus(Duration.ofSeconds(40 * 60 - 100))), Duration.ofSeconds(50));
+        // around the expected end
+        assertBetween(adaptivePoll.next(running, startedAt.plus(Duration.ofSeconds(40 * 60 - 5))), MIN);
+        assertBetween(adaptivePoll.next(running, startedAt.plus(Duration.ofSeconds(40 * 60 + 30))), MIN);
+        // long overdue: backed off again
+        assertBetween(adaptivePoll.next(running, startedAt.plus(Duration.ofMinutes(50))), MAX);
+    }
+
+    private static void assertBetween(Duration delay, Duration expected) {
+        assertThat(delay.toMillis(), greaterThanOrEqualTo(Math.max((long) (expected.toMillis() * 0.8), MIN.toMillis())));
+        assertThat(delay.toMillis(), lessThanOrEqualTo((long) (expected.toMillis() * 1.2)));
+    }
+
+    private static Run run(Instant startedAt, int steps, int finishedSteps) {
+        List<Step> runSteps = new ArrayList<>();
+        for (int i = 0; i < steps; i++) {
+            runSteps.add(Step.builder()
+                .id((long) i)
+                .finishedAt(i < finishedSteps ? startedAt.plusSeconds(10).atZone(ZoneOffset.UTC) : null)
+                .build()
+            );
+        }
+
+        return Run.builder()
+            .status(JobStatus.NUMBER_3)
+            .startedAt(startedAt.atZone(ZoneOffset.UTC))
+            .runSteps(runSteps)
+            .build();
+    }
+}
@@ -1,8 +1,13 @@
 package io.kestra.plugin.dbt.cloud;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -223,4 +228,136 @@ class CheckStatusRetryTest {
             verify(mockClient, times(2)).request(any(HttpRequest.class), eq(String.class));
         }
     }
+
+    @Test
+    void shouldReuseTheClientUntilClosed() throws Exception {
+        var runContext = runContextFactory.of(Map.of());
+
+        try (
+            var mocked = Mockito.mockConstruction(
+                HttpClient.class,
+                (mockClient, context) -> when(mockClient.request(any(HttpRequest.class), eq(String.class)))
+                    .thenReturn(
+                        HttpResponse.<String> builder()
+                            .status(HttpResponse.Status.builder().code(200).build())
+                            .body("{\"status\":\"ok\"}")
+                            .build()
+                    )
+            )
+        ) {
+
+            var task = CheckStatus.builder()
+                .id(IdUtils.create())
+                .type(CheckStatus.class.getName())
+                .runId(Property.ofValue("123"))
+                .token(Property.ofValue("fake-token"))
+                .accountId(Property.ofValue("fake-account"))
+                .build();
+
+            for (int i = 0; i < 3; i++) {
+                task.request(runContext, HttpRequest.builder().uri(new URI("https://fake.api/dbt")), Map.class);
+            }
+
+            assertEquals(1, mocked.constructed().size());
+            var mockClient = mocked.constructed().getFirst();
+            verify(mockClient, times(3)).request(any(HttpRequest.class), eq(String.class));
+
+            task.closeClient();
+            verify(mockClient, times(1)).close();
+
+            // a new client once closed
+            task.request(runContext, HttpRequest.builder().uri(new URI("https://fake.api/dbt")), Map.class);
+            assertEquals(2, mocked.constructed().size());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void download_shouldNotWriteTheBodyOfAnError() throws Exception {
+        var runContext = runContextFactory.of(Map.of());
+        var target = runContext.workingDir().createTempFile(".json");
+
+        try (
+            var mocked = Mockito.mockConstruction(
+                HttpClient.class,
+                (mockClient, context) -> doAnswer(invocation -> {
+                    Consumer<HttpResponse<InputStream>> consumer = invocation.getArgument(1);
+                    consumer.accept(
+                        HttpResponse.<InputStream> builder()
+                            .status(HttpResponse.Status.builder().code(404).build())
+                            .body(new ByteArrayInputStream("Not Found".getBytes(StandardCharsets.UTF_8)))
+                            .build()
+                    );
+                    return null;
+                }).when(mockClient).request(any(HttpRequest.class), any(Consumer.class))
+            )
+        ) {
+
+            var task = CheckStatus.builder()
+                .id(IdUtils.create())
+                .type(CheckStatus.class.getName())
+                .runId(Property.ofValue("123"))
+                .token(Property.ofValue("fake-token"))
+                .accountId(Property.ofValue("fake-account"))
+                .build();
+
+            var exception = assertThrows(
+                HttpClientResponseException.class,
+                () -> task.download(runContext, HttpRequest.builder().uri(new URI("https://fake.api/dbt/artifacts/manifest.json")), target)
+            );
+
+            assertEquals(404, exception.getResponse().getStatus().getCode());
+            // nothing stored for the missing artifact
+            assertEquals(0, Files.size(target));
+        }
+    }
+
+    @Test
+    void shouldUseTheClientOfItsOwner() throws Exception {
+        var runContext = runContextFactory.of(Map.of());
+
+        try (
+            var mocked = Mockito.mockConstruction(
+                HttpClient.class,
+                (mockClient, context) -> when(mockClient.request(any(HttpRequest.class), eq(String.class)))
+                    .thenReturn(
+                        HttpResponse.<String> builder()
+                            .status(HttpResponse.Status.builder().code(200).build())
+                            .body("{\"status\":\"ok\"}")
+                            .build()
+                    )
+            )
+        ) {
+
+            var owner = TriggerRun.builder()
+                .id(IdUtils.create())
+                .type(TriggerRun.class.getName())
+                .jobId(Property.ofValue("456"))
+                .token(Property.ofValue("fake-token"))
+                .accountId(Property.ofValue("fake-account"))
+                .build();
+
+            var task = CheckStatus.builder()
+                .id(IdUtils.create())
+                .type(CheckStatus.class.getName())
+                .runId(Property.ofValue("123"))
+                .token(Property.ofValue("fake-token"))
+                .accountId(Property.ofValue("fake-account"))
+                .build();
+            task.useClientOf(owner);
+
+            owner.request(runContext, HttpRequest.builder().uri(new URI("https://fake.api/dbt")), Map.class);
+            task.request(runContext, HttpRequest.builder().uri(new URI("https://fake.api/dbt")), Map.class);
+            task.closeClient();
+
+            assertEquals(1, mocked.constructed().size());
+            var mockClient = mocked.constructed().getFirst();
+            verify(mockClient, times(2)).request(any(HttpRequest.class), eq(String.class));
+            // closed by its owner only
+            verify(mockClient, never()).close();
+
+            owner.closeClient();
+            verify(mockClient, times(1)).close();
+        }
+    }
 }
@@ -1,9 +1,15 @@
 package io.kestra.plugin.dbt.cloud;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
@@ -25,8 +31,10 @@ import reactor.core.publisher.Flux;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -150,6 +158,10 @@ class CheckStatusTest {
         assertThat(output, is(notNullValue()));
         // run_results was present — URI must be set
         assertThat(output.getRunResults(), is(notNullValue()));
+        // stored as served, without being deserialized and serialized again
+        try (InputStream stored = runContext.storage().getFile(output.getRunResults())) {
+            assertThat(new String(stored.readAllBytes(), StandardCharsets.UTF_8), containsString("\"elapsed_time\": 0.0"));
+        }
         // manifest was 404 — URI must be absent
         assertThat(output.getManifest(), is(nullValue()));
     }
@@ -202,6 +214,75 @@ class CheckStatusTest {
         assertThat(output, is(notNullValue()));
         assertThat(output.getRunResults(), is(nullValue()));
         assertThat(output.getManifest(), is(nullValue()));
+
+        // nothing of the 404 responses was written
+        try (Stream<Path> files = Files.walk(runContext.workingDir().path())) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                assertThat(Files.readString(file), not(containsString("Not Found")));
+            }
+        }
+    }
+
+    @Test
+    void shouldDownloadAdditionalArtifacts() throws Exception {
+        stubFor(
+            get(urlMatching("/api/v2/accounts/123/runs/1212/\\?.*"))
+                .willReturn(okJson("""
+                        {
+                          "data": {
+                            "id": 1212,
+                            "status": 10,
+                            "status_humanized": "Success",
+                            "duration_humanized": "1s",
+                            "run_steps": []
+                          }
+                        }
+                    """))
+        );
+
+        stubFor(
+            get(urlEqualTo("/api/v2/accounts/123/runs/1212/artifacts/run_results.json"))
+                .willReturn(okJson("""
+                        { "metadata": {}, "results": [], "elapsed_time": 0.0 }
+                    """))
+        );
+
+        stubFor(
+            get(urlEqualTo("/api/v2/accounts/123/runs/1212/artifacts/manifest.json"))
+                .willReturn(aResponse().withStatus(404).withBody("Not Found"))
+        );
+
+        stubFor(
+            get(urlEqualTo("/api/v2/accounts/123/runs/1212/artifacts/catalog.json"))
+                .willReturn(okJson("""
+                        { "metadata": {}, "nodes": {}, "sources": {} }
+                    """))
+        );
+
+        stubFor(
+            get(urlEqualTo("/api/v2/accounts/123/runs/1212/artifacts/sources.json"))
+                .willReturn(aResponse().withStatus(404).withBody("Not Found"))
+        );
+
+        RunContext runContext = runContextFactory.of(Map.of());
+
+        CheckStatus checkStatus = CheckStatus.builder()
+            .id(IdUtils.create())
+            .type(CheckStatus.class.getName())
+            .baseUrl(Property.ofValue("http://localhost:8089"))
+            .runId(Property.ofValue("1212"))
+            .accountId(Property.ofValue("123"))
+            .token(Property.ofValue("fake-token"))
+            .maxDuration(Property.ofValue(Duration.ofSeconds(5)))
+            .parseRunResults(Property.ofValue(false))
+            .additionalArtifacts(Property.ofValue(List.of("catalog.json", "sources.json")))
+            .build();
+
+        CheckStatus.Output output = checkStatus.run(runContext);
+
+        assertThat(output.getRunResults(), is(notNullValue()));
+        assertThat(output.getManifest(), is(nullValue()));
+        assertThat(output.getArtifacts().keySet(), contains("catalog.json"));
     }
 
     /**
@@ -549,6 +630,25 @@ class CheckStatusTest {
         );
     }
 
+    @Test
+    void logLines_shouldOnlyLogNewCompleteLines() {
+        List<String> lines = new ArrayList<>();
+
+        int offset = CheckStatus.logLines("first\nsecond\r\nthi", 0, false, lines::add);
+        assertThat(lines, contains("first", "second"));
+
+        // the whole logs are sent again, with the partial line completed
+        offset = CheckStatus.logLines("first\nsecond\r\nthird\nfou", offset, false, lines::add);
+        assertThat(lines, contains("first", "second", "third"));
+
+        offset = CheckStatus.logLines("first\nsecond\r\nthird\nfou", offset, false, lines::add);
+        assertThat(lines, contains("first", "second", "third"));
+
+        offset = CheckStatus.logLines("first\nsecond\r\nthird\nfourth", offset, true, lines::add);
+        assertThat(lines, contains("first", "second", "third", "fourth"));
+        assertThat(offset, is("first\nsecond\r\nthird\nfourth".length()));
+    }
+
     private RunContext mockRunContext(CheckStatus task) {
         var flow = TestsUtils.mockFlow();
         var execution = TestsUtils.mockExecution(flow, Map.of(), null);
@@ -0,0 +1,58 @@
+package io.kestra.plugin.dbt.models;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class AdapterResponseTest {
+    @Test
+    void deserialize_shouldKeepKnownKeysAsPrimitivesAndTheRestAsIs() throws Exception {
+        AdapterResponse response = JacksonMapper.ofJson().readValue("""
+            {
+              "_message": "CREATE TABLE (10.0 rows, 2.0 KiB processed)",
+              "code": "CREATE TABLE",
+              "rows_affected": 10,
+              "bytes_processed": "2048",
+              "bytes_billed": 10485760.0,
+              "slot_ms": 125,
+              "job_id": "job_1",
+              "query_id": "01b2c3",
+              "location": {"region": "US"}
+            }
+            """, AdapterResponse.class);
+
+        assertThat(response.getRowsAffected(), is(10L));
+        assertThat(response.getBytesProcessed(), is(2048L));
+        assertThat(response.getBytesBilled(), is(10485760L));
+        assertThat(response.getSlotMs(), is(125L));
+        assertThat(response.getQueryId(), is("01b2c3"));
+        assertThat(response.getOthers().keySet(), contains("_message", "code", "job_id", "location"));
+        assertThat(response.getOthers().get("location"), is(Map.of("region", "US")));
+    }
+
+    @Test
+    void deserialize_empty_shouldHaveNothing() throws Exception {
+        AdapterResponse response = JacksonMapper.ofJson().readValue("{}", AdapterResponse.class);
+
+        assertThat(response.hasRowsAffected(), is(false));
+        assertThat(response.hasBytesProcessed(), is(false));
+        assertThat(response.getOthers(), is(anEmptyMap()));
+    }
+
+    @Test
+    void serialize_shouldRoundTrip() throws Exception {
+        AdapterResponse response = AdapterResponse.of(Map.of("rows_affected", -1, "code", "SELECT"));
+
+        String json = JacksonMapper.ofJson().writeValueAsString(response);
+        AdapterResponse read = JacksonMapper.ofJson().readValue(json, AdapterResponse.class);
+
+        assertThat(read.hasRowsAffected(), is(true));
+        assertThat(read.getRowsAffected(), is(-1L));
+        assertThat(read.getOthers(), is(Map.of("code", "SELECT")));
+    }
+}